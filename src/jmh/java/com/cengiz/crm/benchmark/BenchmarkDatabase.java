@@ -0,0 +1,289 @@
+package com.cengiz.crm.benchmark;
+
+import com.cengiz.crm.enums.*;
+import com.cengiz.crm.cache.ProductCatalog;
+import com.cengiz.crm.security.CustomUserDetailsService;
+import com.cengiz.crm.security.PrincipalCache;
+import com.cengiz.crm.service.DashboardAggregationService;
+import com.cengiz.crm.service.OpportunityProductService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Benchmark Database
+ * Minimal Spring context (DataSource, JPA, repositories, transactions) over a seeded database.
+ * Uses an embedded H2 database in PostgreSQL mode unless -Dbench.jdbc.url points at a scratch
+ * PostgreSQL database, which is migrated with Flyway and TRUNCATED before seeding.
+ */
+final class BenchmarkDatabase implements AutoCloseable {
+
+    static final String USER_EMAIL_FORMAT = "user%d@bench.local";
+    static final String PRODUCT_CODE_FORMAT = "BENCH-%05d";
+
+    private static final String H2_URL = "jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+            + "DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE";
+    private static final int BATCH_SIZE = 1000;
+    private static final int PERMISSIONS = 20;
+    private static final int PERMISSIONS_PER_USER = 8;
+    private static final String[] SEQUENCE_TABLES = {"permissions", "users", "customers", "contacts", "leads",
+            "products", "opportunities", "opportunity_products", "activities"};
+
+    private final AnnotationConfigApplicationContext context;
+
+    private BenchmarkDatabase(AnnotationConfigApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Start the context and seed {@code rows} leads, opportunities and activities,
+     * a tenth as many customers, one product per 20 rows (at least 100) and one user per 500 rows (at least 10)
+     */
+    static BenchmarkDatabase start(int rows) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(JpaConfig.class);
+        new Seeder(new JdbcTemplate(context.getBean(DataSource.class)), rows).seed();
+        return new BenchmarkDatabase(context);
+    }
+
+    static int userCount(int rows) {
+        return Math.max(10, rows / 500);
+    }
+
+    static int productCount(int rows) {
+        return Math.max(100, rows / 20);
+    }
+
+    /**
+     * Refresh planner statistics after seeding, so PostgreSQL plans against the real table sizes
+     */
+    void analyze() {
+        if (usesPostgres()) {
+            new JdbcTemplate(context.getBean(DataSource.class)).execute("ANALYZE");
+        }
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private static boolean usesPostgres() {
+        String url = System.getProperty("bench.jdbc.url", "");
+        return !url.isEmpty();
+    }
+
+    @Configuration
+    @EnableJpaRepositories(basePackages = "com.cengiz.crm.repository")
+    @EnableTransactionManagement(proxyTargetClass = true)
+    @Import({DashboardAggregationService.class, CustomUserDetailsService.class, PrincipalCache.class,
+            ProductCatalog.class, OpportunityProductService.class})
+    static class JpaConfig {
+
+        /**
+         * Boot's conversions, so @Value properties like Duration bind as in the application
+         */
+        @Bean
+        public static ConversionService conversionService() {
+            return ApplicationConversionService.getSharedInstance();
+        }
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean(destroyMethod = "close")
+        public HikariDataSource dataSource() {
+            HikariDataSource dataSource = new HikariDataSource();
+            if (usesPostgres()) {
+                dataSource.setJdbcUrl(System.getProperty("bench.jdbc.url"));
+                dataSource.setUsername(System.getProperty("bench.jdbc.username", "postgres"));
+                dataSource.setPassword(System.getProperty("bench.jdbc.password", "postgres"));
+                dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
+                Flyway.configure().dataSource(dataSource).load().migrate();
+            } else {
+                dataSource.setJdbcUrl(H2_URL);
+                dataSource.setUsername("sa");
+            }
+            dataSource.setMaximumPoolSize(4);
+            return dataSource;
+        }
+
+        @Bean
+        public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan("com.cengiz.crm.entity");
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            Map<String, Object> properties = new HashMap<>();
+            properties.put("hibernate.hbm2ddl.auto", usesPostgres() ? "none" : "create");
+            // Same batching settings as application.yml
+            properties.put("hibernate.jdbc.batch_size", 20);
+            properties.put("hibernate.order_inserts", true);
+            properties.put("hibernate.order_updates", true);
+            properties.put("hibernate.batch_fetch_style", "dynamic");
+            factory.setJpaPropertyMap(properties);
+            return factory;
+        }
+
+        @Bean
+        public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+    }
+
+    /**
+     * Inserts deterministic rows with JDBC batches; every enum value and ownership combination occurs
+     */
+    private static final class Seeder {
+
+        private static final Enum<?>[] CUSTOMER_TYPES = CustomerType.values();
+        private static final Enum<?>[] CUSTOMER_STATUSES = CustomerStatus.values();
+        private static final Enum<?>[] LEAD_STATUSES = LeadStatus.values();
+        private static final Enum<?>[] OPPORTUNITY_STAGES = OpportunityStage.values();
+        private static final Enum<?>[] OPPORTUNITY_STATUSES = OpportunityStatus.values();
+        private static final Enum<?>[] ACTIVITY_TYPES = ActivityType.values();
+        private static final Enum<?>[] ACTIVITY_STATUSES = ActivityStatus.values();
+        private static final Enum<?>[] PRIORITIES = Priority.values();
+
+        private final JdbcTemplate jdbc;
+        private final int rows;
+        private final int users;
+        private final int customers;
+        private final int products;
+        private final LocalDateTime now = LocalDateTime.now();
+
+        private Seeder(JdbcTemplate jdbc, int rows) {
+            this.jdbc = jdbc;
+            this.rows = rows;
+            this.users = userCount(rows);
+            this.customers = Math.max(1, rows / 10);
+            this.products = productCount(rows);
+        }
+
+        void seed() {
+            if (usesPostgres()) {
+                jdbc.execute("TRUNCATE user_dashboard_rollups, opportunity_products, activities, leads, "
+                        + "opportunities, contacts, customers, products, user_permissions, permissions, users "
+                        + "RESTART IDENTITY CASCADE");
+            }
+
+            insert("INSERT INTO permissions (id, name, code, category, created_at, is_deleted, version) "
+                    + "VALUES (?, ?, ?, 'BENCH', ?, false, 0)", PERMISSIONS,
+                    i -> new Object[]{i + 1L, "Permission " + i, "PERM_" + i, timestamp(0)});
+
+            insert("INSERT INTO users (id, first_name, last_name, email, password, role, status, "
+                    + "failed_login_attempts, must_change_password, created_at, is_deleted, version) "
+                    + "VALUES (?, ?, ?, ?, '{noop}bench', ?, 'ACTIVE', 0, false, ?, false, 0)", users,
+                    i -> new Object[]{i + 1L, "User", String.valueOf(i + 1), String.format(USER_EMAIL_FORMAT, i + 1),
+                            i == 0 ? "ADMIN" : i % 5 == 0 ? "MANAGER" : "SALES_REP", timestamp(i)});
+
+            insert("INSERT INTO user_permissions (user_id, permission_id) VALUES (?, ?)",
+                    users * PERMISSIONS_PER_USER,
+                    i -> new Object[]{i / PERMISSIONS_PER_USER + 1L,
+                            (i / PERMISSIONS_PER_USER + i % PERMISSIONS_PER_USER) % PERMISSIONS + 1L});
+
+            insert("INSERT INTO customers (id, company_name, customer_type, status, account_manager_id, "
+                    + "created_at, is_deleted, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0)", customers,
+                    i -> new Object[]{i + 1L, "Company " + i, pick(CUSTOMER_TYPES, i), pick(CUSTOMER_STATUSES, i),
+                            owner(i), timestamp(i), i % 50 == 0});
+
+            insert("INSERT INTO products (id, name, product_code, category, unit_price, tax_rate, is_active, "
+                    + "created_at, is_deleted, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", products,
+                    i -> new Object[]{i + 1L, "Product " + i, String.format(PRODUCT_CODE_FORMAT, i + 1),
+                            "Category " + i % 10, BigDecimal.valueOf(100 + (i * 7919L) % 1_000_000, 2),
+                            BigDecimal.valueOf(i % 2 == 0 ? 1800 : 2000, 2), i % 20 != 0, timestamp(i),
+                            i % 50 == 0});
+
+            insert("INSERT INTO leads (id, first_name, last_name, email, status, assigned_to_id, is_converted, "
+                    + "created_at, is_deleted, version) VALUES (?, 'Lead', ?, ?, ?, ?, ?, ?, ?, 0)", rows,
+                    i -> new Object[]{i + 1L, String.valueOf(i), "lead" + i + "@bench.local",
+                            pick(LEAD_STATUSES, i), owner(i), i % 7 == 0, timestamp(i), i % 50 == 0});
+
+            insert("INSERT INTO opportunities (id, name, customer_id, value, stage, status, probability, "
+                    + "expected_close_date, owner_id, created_at, is_deleted, version) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", rows,
+                    i -> new Object[]{i + 1L, "Opportunity " + i, i % customers + 1L,
+                            BigDecimal.valueOf(1000 + (i * 37L) % 100000, 2), pick(OPPORTUNITY_STAGES, i),
+                            pick(OPPORTUNITY_STATUSES, i), (i % 11) * 10,
+                            java.sql.Date.valueOf(LocalDate.now().plusDays(i % 730 - 180)), owner(i),
+                            timestamp(i), i % 50 == 0});
+
+            insert("INSERT INTO activities (id, subject, activity_type, status, priority, due_date, "
+                    + "assigned_to_id, created_at, is_deleted, is_reminder_sent, version) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, false, 0)", rows,
+                    i -> new Object[]{i + 1L, "Activity " + i, pick(ACTIVITY_TYPES, i), pick(ACTIVITY_STATUSES, i),
+                            pick(PRIORITIES, i), Timestamp.valueOf(now.plusHours(i % 1440 - 720)), owner(i),
+                            timestamp(i), i % 50 == 0});
+
+            restartSequences();
+        }
+
+        /**
+         * Seeded rows carry explicit ids; move every id sequence past them so entities saved
+         * through Hibernate do not collide
+         */
+        private void restartSequences() {
+            for (String table : SEQUENCE_TABLES) {
+                Long maxId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+                jdbc.execute("ALTER SEQUENCE " + table + "_id_seq RESTART WITH " + (maxId + 1));
+            }
+        }
+
+        private long owner(int i) {
+            return i % users + 1L;
+        }
+
+        private Timestamp timestamp(int i) {
+            return Timestamp.valueOf(now.minusMinutes(i));
+        }
+
+        private void insert(String sql, int count, IntFunction<Object[]> row) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < count; i++) {
+                batch.add(row.apply(i));
+                if (batch.size() == BATCH_SIZE) {
+                    jdbc.batchUpdate(sql, batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                jdbc.batchUpdate(sql, batch);
+            }
+        }
+
+        private static String pick(Enum<?>[] values, int i) {
+            return values[i % values.length].name();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.cengiz.crm.benchmark;
+
+import com.cengiz.crm.cache.CacheSerializers;
+import com.cengiz.crm.config.CacheConfig;
+import com.cengiz.crm.dto.ActivityFeed;
+import com.cengiz.crm.dto.Forecast;
+import com.cengiz.crm.entity.Product;
+import com.cengiz.crm.enums.*;
+import com.cengiz.crm.repository.projection.ActivityFeedItem;
+import com.cengiz.crm.repository.projection.ForecastBucket;
+import com.cengiz.crm.repository.projection.StageSummary;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis value round trips (serialize + deserialize) of the two-tier cache payloads and of
+ * entities through the generic cache serializer, in each crm.cache.serializer format, using the
+ * same serializers as {@link CacheConfig} and RedisConfig.
+ * Setup prints the payload size of every value and fails if the format cannot read an entry
+ * written as JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheSerializationBenchmark {
+
+    private static final int PRODUCTS = 20;
+
+    @Param({"JSON", "SMILE"})
+    public CacheSerializers.Format format;
+
+    private RedisSerializer<Object> genericSerializer;
+    private RedisSerializer<Map<String, Object>> statsSerializer;
+    private RedisSerializer<List<StageSummary>> pipelineSerializer;
+    private RedisSerializer<ActivityFeed> feedSerializer;
+    private RedisSerializer<Forecast> forecastSerializer;
+
+    private Map<String, Object> stats;
+    private List<StageSummary> pipeline;
+    private ActivityFeed feed;
+    private Forecast forecast;
+    private List<Product> products;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TypeFactory types = TypeFactory.defaultInstance();
+        statsSerializer = CacheSerializers.typed(format,
+                types.constructMapType(Map.class, String.class, Object.class), 1);
+        pipelineSerializer = CacheSerializers.typed(format,
+                types.constructCollectionType(List.class, StageSummary.class), 1);
+        feedSerializer = CacheSerializers.typed(format, types.constructType(ActivityFeed.class), 1);
+        forecastSerializer = CacheSerializers.typed(format, types.constructType(Forecast.class), 1);
+        genericSerializer = CacheSerializers.generic(format);
+
+        stats = new HashMap<>();
+        for (String key : new String[]{"totalCustomers", "activeCustomers", "totalLeads", "newLeads",
+                "qualifiedLeads", "convertedLeads", "totalOpportunities", "openOpportunities", "wonOpportunities",
+                "totalActivities", "overdueActivities", "totalUsers", "activeUsers"}) {
+            stats.put(key, (long) key.hashCode() & 0xFFFF);
+        }
+        stats.put("pipelineValue", new BigDecimal("12345678.90"));
+        stats.put("wonValue", new BigDecimal("9876543.21"));
+
+        pipeline = new ArrayList<>();
+        for (OpportunityStage stage : OpportunityStage.values()) {
+            pipeline.add(new StageSummary(stage, 1000L + stage.ordinal(), new BigDecimal("1500000.00"),
+                    new BigDecimal("450000.00")));
+        }
+
+        List<ActivityFeedItem> items = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 10; i++) {
+            items.add(new ActivityFeedItem((long) i, "Follow-up call " + i, ActivityType.CALL, ActivityStatus.PLANNED,
+                    Priority.MEDIUM, now.plusHours(i), now.minusMinutes(i)));
+        }
+        feed = new ActivityFeed(items, "MjAyNi0xMC0xOFQxMDowMHwxMjM0NQ");
+
+        List<ForecastBucket> buckets = new ArrayList<>();
+        LocalDate quarter = ForecastPeriod.QUARTER.startOf(LocalDate.now());
+        for (int period = 0; period < 4; period++) {
+            for (long owner = 1; owner <= 10; owner++) {
+                for (OpportunityStage stage : OpportunityStage.values()) {
+                    buckets.add(new ForecastBucket(quarter.plusMonths(3L * period), owner, "User " + owner, stage,
+                            25, new BigDecimal("250000.00"), new BigDecimal("75000.00")));
+                }
+            }
+        }
+        forecast = new Forecast(ForecastPeriod.QUARTER, quarter, quarter.plusMonths(12), buckets, new ArrayList<>());
+
+        products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = Product.builder().name("Product " + i).productCode(String.format("PRD-%05d", i))
+                    .description("Standard licence, billed yearly").category("Category " + i % 4)
+                    .unitPrice(new BigDecimal("1499.90")).costPrice(new BigDecimal("900.00")).unit("adet")
+                    .taxRate(new BigDecimal("20.00")).build();
+            product.setId((long) i + 1);
+            product.setCreatedAt(now.minusDays(i));
+            product.setCreatedBy("admin@crm.com");
+            products.add(product);
+        }
+
+        checkJsonFallback(types.constructType(ActivityFeed.class), feedSerializer, feed);
+        checkJsonFallback(types.constructType(Forecast.class), forecastSerializer, forecast);
+        System.out.printf("%n%s payload bytes: stats %d, pipeline %d, feed %d, forecast %d, %d products %d%n", format,
+                statsSerializer.serialize(stats).length, pipelineSerializer.serialize(pipeline).length,
+                feedSerializer.serialize(feed).length, forecastSerializer.serialize(forecast).length,
+                PRODUCTS, genericSerializer.serialize(products).length);
+    }
+
+    @Benchmark
+    public Map<String, Object> statsRoundTrip() {
+        return statsSerializer.deserialize(statsSerializer.serialize(stats));
+    }
+
+    @Benchmark
+    public List<StageSummary> pipelineRoundTrip() {
+        return pipelineSerializer.deserialize(pipelineSerializer.serialize(pipeline));
+    }
+
+    @Benchmark
+    public ActivityFeed feedRoundTrip() {
+        return feedSerializer.deserialize(feedSerializer.serialize(feed));
+    }
+
+    @Benchmark
+    public Forecast forecastRoundTrip() {
+        return forecastSerializer.deserialize(forecastSerializer.serialize(forecast));
+    }
+
+    @Benchmark
+    public Object productsRoundTrip() {
+        return genericSerializer.deserialize(genericSerializer.serialize(products));
+    }
+
+    /**
+     * Entries written in JSON before a switch of format must still be read, not dropped
+     */
+    private static <T> void checkJsonFallback(JavaType type, RedisSerializer<T> serializer, T value) {
+        RedisSerializer<T> json = CacheSerializers.typed(CacheSerializers.Format.JSON, type, 1);
+        byte[] expected = json.serialize(value);
+        if (!Arrays.equals(expected, json.serialize(serializer.deserialize(expected)))) {
+            throw new IllegalStateException("Could not read a JSON entry of " + type);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.cengiz.crm.benchmark;
+
+import com.cengiz.crm.service.DashboardAggregationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Database side of the dashboard: the grouped queries behind the global stats and a user's rollup
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DashboardAggregationBenchmark {
+
+    @Param("10000")
+    public int rows;
+
+    private BenchmarkDatabase database;
+    private DashboardAggregationService dashboardAggregationService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start(rows);
+        dashboardAggregationService = database.getBean(DashboardAggregationService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> aggregate() {
+        return dashboardAggregationService.aggregate();
+    }
+
+    @Benchmark
+    public Map<String, Long> countForUser() {
+        return dashboardAggregationService.countForUser(2L);
+    }
+}
@@ -0,0 +1,102 @@
+package com.cengiz.crm.benchmark;
+
+import com.cengiz.crm.entity.Customer;
+import com.cengiz.crm.entity.Lead;
+import com.cengiz.crm.repository.CustomerRepository;
+import com.cengiz.crm.repository.LeadRepository;
+import com.cengiz.crm.util.FullTextQuery;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search before and after full-text indexing: the former LOWER(col) LIKE '%term%' queries
+ * (sequential scans) against the ranked tsvector queries served by the GIN indexes.
+ * PostgreSQL only (-Dbench.jdbc.url); run with -Dbench.rows=1000000 for the 1M-row comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FullTextSearchBenchmark {
+
+    private static final String LIKE_CUSTOMERS = "SELECT c FROM Customer c WHERE c.isDeleted = false AND " +
+            "(LOWER(c.companyName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "LOWER(c.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "LOWER(c.city) LIKE LOWER(CONCAT('%', :search, '%')))";
+
+    private static final String LIKE_LEADS = "SELECT l FROM Lead l WHERE l.isDeleted = false AND " +
+            "(LOWER(l.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "LOWER(l.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "LOWER(l.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "LOWER(l.companyName) LIKE LOWER(CONCAT('%', :search, '%')))";
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param("10000")
+    public int rows;
+
+    private BenchmarkDatabase database;
+    private EntityManager entityManager;
+    private CustomerRepository customerRepository;
+    private LeadRepository leadRepository;
+    private final Pageable firstPage = PageRequest.of(0, PAGE_SIZE);
+    private String customerTerm;
+    private String leadTerm;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (System.getProperty("bench.jdbc.url", "").isEmpty()) {
+            throw new IllegalStateException("Full-text search needs PostgreSQL: pass -Dbench.jdbc.url");
+        }
+        database = BenchmarkDatabase.start(rows);
+        database.analyze();
+        entityManager = database.getBean(EntityManagerFactory.class).createEntityManager();
+        customerRepository = database.getBean(CustomerRepository.class);
+        leadRepository = database.getBean(LeadRepository.class);
+        // Seeded names are "Company <i>" and "lead<i>@bench.local"; pick rows from the middle of the table
+        customerTerm = "Company " + rows / 20;
+        leadTerm = "lead" + rows / 2;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+        database.close();
+    }
+
+    @Benchmark
+    public List<Customer> customersLike() {
+        entityManager.clear();
+        return entityManager.createQuery(LIKE_CUSTOMERS, Customer.class)
+                .setParameter("search", customerTerm)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList();
+    }
+
+    @Benchmark
+    public List<Customer> customersFullText() {
+        return customerRepository.searchCustomers(FullTextQuery.prefixQuery(customerTerm), firstPage);
+    }
+
+    @Benchmark
+    public List<Lead> leadsLike() {
+        entityManager.clear();
+        return entityManager.createQuery(LIKE_LEADS, Lead.class)
+                .setParameter("search", leadTerm)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList();
+    }
+
+    @Benchmark
+    public List<Lead> leadsFullText() {
+        return leadRepository.searchLeads(FullTextQuery.prefixQuery(leadTerm), firstPage);
+    }
+}
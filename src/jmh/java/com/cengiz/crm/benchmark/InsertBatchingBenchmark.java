@@ -0,0 +1,145 @@
+package com.cengiz.crm.benchmark;
+
+import com.cengiz.crm.entity.Contact;
+import com.cengiz.crm.entity.Customer;
+import com.cengiz.crm.entity.Opportunity;
+import com.cengiz.crm.entity.OpportunityProduct;
+import com.cengiz.crm.entity.Product;
+import com.cengiz.crm.enums.CustomerType;
+import com.cengiz.crm.repository.CustomerRepository;
+import com.cengiz.crm.repository.OpportunityRepository;
+import com.cengiz.crm.repository.ProductRepository;
+import com.cengiz.crm.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cascaded saves with sequence ids: a customer with its contacts and an opportunity with its line items.
+ * Setup fails unless the child INSERTs reach the database as JDBC batches (rows per prepared statement
+ * well above one); the tear-down prints the measured ratio. On PostgreSQL the driver additionally
+ * rewrites each batch into multi-row INSERTs (reWriteBatchedInserts).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertBatchingBenchmark {
+
+    private static final int PRODUCTS = 20;
+
+    @Param("1000")
+    public int rows;
+
+    @Param("20")
+    public int children;
+
+    private BenchmarkDatabase database;
+    private TransactionTemplate transaction;
+    private CustomerRepository customerRepository;
+    private UserRepository userRepository;
+    private OpportunityRepository opportunityRepository;
+    private Statistics statistics;
+    private List<Product> products;
+    private Long customerId;
+    private Long ownerId;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start(rows);
+        transaction = new TransactionTemplate(database.getBean(PlatformTransactionManager.class));
+        customerRepository = database.getBean(CustomerRepository.class);
+        opportunityRepository = database.getBean(OpportunityRepository.class);
+        userRepository = database.getBean(UserRepository.class);
+        statistics = database.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        List<Product> newProducts = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            newProducts.add(Product.builder()
+                    .name("Bench product " + i)
+                    .productCode("BENCH-" + i)
+                    .unitPrice(BigDecimal.valueOf(1000 + i * 250L, 2))
+                    .build());
+        }
+        products = transaction.execute(status -> database.getBean(ProductRepository.class).saveAll(newProducts));
+        customerId = customerRepository.findAll().get(0).getId();
+        ownerId = userRepository.findAll().get(0).getId();
+
+        statistics.clear();
+        customerWithContacts();
+        opportunityWithProducts();
+        double rowsPerStatement = rowsPerStatement();
+        if (rowsPerStatement < children / 4.0) {
+            throw new IllegalStateException("Inserts are not batched: " + rowsPerStatement
+                    + " rows per prepared statement");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n%d rows inserted with %d prepared statements (%.1f rows per statement)%n",
+                statistics.getEntityInsertCount(), statistics.getPrepareStatementCount(), rowsPerStatement());
+        database.close();
+    }
+
+    @Benchmark
+    public Customer customerWithContacts() {
+        long n = ++sequence;
+        return transaction.execute(status -> {
+            Customer customer = Customer.builder()
+                    .companyName("Batch customer " + n)
+                    .customerType(CustomerType.SMB)
+                    .build();
+            for (int i = 0; i < children; i++) {
+                Contact contact = Contact.builder()
+                        .firstName("Contact")
+                        .lastName(n + "-" + i)
+                        .email("contact" + n + "-" + i + "@bench.local")
+                        .customer(customer)
+                        .build();
+                customer.getContacts().add(contact);
+            }
+            return customerRepository.save(customer);
+        });
+    }
+
+    @Benchmark
+    public Opportunity opportunityWithProducts() {
+        long n = ++sequence;
+        return transaction.execute(status -> {
+            Opportunity opportunity = Opportunity.builder()
+                    .name("Batch opportunity " + n)
+                    .customer(customerRepository.getReferenceById(customerId))
+                    .owner(userRepository.getReferenceById(ownerId))
+                    .value(BigDecimal.valueOf(100_000, 2))
+                    .build();
+            for (int i = 0; i < children; i++) {
+                Product product = products.get(i % products.size());
+                opportunity.getProducts().add(OpportunityProduct.builder()
+                        .opportunity(opportunity)
+                        .product(product)
+                        .quantity(1 + i % 5)
+                        .unitPrice(product.getUnitPrice())
+                        .build());
+            }
+            return opportunityRepository.save(opportunity);
+        });
+    }
+
+    private double rowsPerStatement() {
+        long prepared = Math.max(1, statistics.getPrepareStatementCount());
+        return (double) statistics.getEntityInsertCount() / prepared;
+    }
+}
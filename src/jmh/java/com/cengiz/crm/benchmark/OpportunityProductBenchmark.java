@@ -0,0 +1,66 @@
+package com.cengiz.crm.benchmark;
+
+import com.cengiz.crm.entity.OpportunityProduct;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Line-item arithmetic: subtotal, discount, tax and total of opportunity products
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OpportunityProductBenchmark {
+
+    private static final int LINE_ITEMS = 1024;
+
+    private OpportunityProduct[] lineItems;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        lineItems = new OpportunityProduct[LINE_ITEMS];
+        for (int i = 0; i < LINE_ITEMS; i++) {
+            lineItems[i] = OpportunityProduct.builder()
+                    .quantity(1 + random.nextInt(50))
+                    .unitPrice(BigDecimal.valueOf(100 + random.nextInt(1_000_000), 2))
+                    .discountPercentage(BigDecimal.valueOf(random.nextInt(3000), 2))
+                    .taxRate(BigDecimal.valueOf(random.nextInt(2) == 0 ? 1800 : 2000, 2))
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public BigDecimal total() {
+        next = (next + 1) & (LINE_ITEMS - 1);
+        return lineItems[next].getTotal();
+    }
+
+    @Benchmark
+    public void breakdown(Blackhole blackhole) {
+        next = (next + 1) & (LINE_ITEMS - 1);
+        OpportunityProduct lineItem = lineItems[next];
+        blackhole.consume(lineItem.getSubtotal());
+        blackhole.consume(lineItem.getDiscountAmount());
+        blackhole.consume(lineItem.getTaxAmount());
+        blackhole.consume(lineItem.getTotal());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public BigDecimal opportunityTotal() {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (OpportunityProduct lineItem : lineItems) {
+            sum = sum.add(lineItem.getTotal());
+        }
+        return sum;
+    }
+}
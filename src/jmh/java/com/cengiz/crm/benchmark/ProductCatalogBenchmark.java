@@ -0,0 +1,106 @@
+package com.cengiz.crm.benchmark;
+
+import com.cengiz.crm.cache.CatalogProduct;
+import com.cengiz.crm.cache.ProductCatalog;
+import com.cengiz.crm.entity.OpportunityProduct;
+import com.cengiz.crm.entity.Product;
+import com.cengiz.crm.repository.ProductRepository;
+import com.cengiz.crm.service.OpportunityProductService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Product lookups while building quotes: the in-memory catalog snapshot against a repository
+ * query per product code, and pricing a ten-line quote from the catalog.
+ * Setup fails if a catalog lookup or quote runs any SQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductCatalogBenchmark {
+
+    private static final int QUOTE_LINES = 10;
+
+    @Param("10000")
+    public int rows;
+
+    private BenchmarkDatabase database;
+    private ProductCatalog productCatalog;
+    private ProductRepository productRepository;
+    private OpportunityProductService opportunityProductService;
+    private String[] productCodes;
+    private Map<String, Integer> quote;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start(rows);
+        productCatalog = database.getBean(ProductCatalog.class);
+        productRepository = database.getBean(ProductRepository.class);
+        opportunityProductService = database.getBean(OpportunityProductService.class);
+
+        // Live, active products only: every 50th seeded product is deleted, every 20th inactive
+        List<CatalogProduct> active = productCatalog.rebuild().findActive();
+        productCodes = active.stream().map(CatalogProduct::getProductCode).toArray(String[]::new);
+        quote = new LinkedHashMap<>();
+        for (int i = 0; i < QUOTE_LINES; i++) {
+            quote.put(productCodes[i * 7 % productCodes.length], 1 + i);
+        }
+
+        Statistics statistics = database.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.setStatisticsEnabled(true);
+        expectQueries(statistics, "catalog lookup", 0, this::catalogLookup);
+        expectQueries(statistics, "quote", 0, this::quote);
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public BigDecimal catalogLookup() {
+        next = (next + 1) % productCodes.length;
+        return productCatalog.findByProductCode(productCodes[next]).map(CatalogProduct::getUnitPrice).orElseThrow();
+    }
+
+    @Benchmark
+    public BigDecimal repositoryLookup() {
+        next = (next + 1) % productCodes.length;
+        Optional<Product> product = productRepository.findByProductCodeAndIsDeletedFalse(productCodes[next]);
+        return product.map(Product::getUnitPrice).orElseThrow();
+    }
+
+    @Benchmark
+    public BigDecimal quote() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (OpportunityProduct lineItem : opportunityProductService.quote(quote)) {
+            total = total.add(lineItem.getTotal());
+        }
+        return total;
+    }
+
+    private static void expectQueries(Statistics statistics, String path, long expected, Supplier<?> action) {
+        statistics.clear();
+        action.get();
+        long prepared = statistics.getPrepareStatementCount();
+        if (prepared != expected) {
+            throw new IllegalStateException(path + " ran " + prepared + " queries, expected " + expected);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.cengiz.crm.benchmark;
+
+import com.cengiz.crm.repository.CustomerRepository;
+import com.cengiz.crm.repository.projection.LookupOption;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Customer typeahead latency distribution (p99 target: 20 ms) on the pg_trgm index.
+ * Cycles through a rare, a common and a missing term, as a user typing would.
+ * PostgreSQL only (-Dbench.jdbc.url).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TypeaheadBenchmark {
+
+    private static final int LIMIT = 10;
+
+    @Param("10000")
+    public int rows;
+
+    private BenchmarkDatabase database;
+    private CustomerRepository customerRepository;
+    private String[] terms;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (System.getProperty("bench.jdbc.url", "").isEmpty()) {
+            throw new IllegalStateException("Trigram indexes need PostgreSQL: pass -Dbench.jdbc.url");
+        }
+        database = BenchmarkDatabase.start(rows);
+        database.analyze();
+        customerRepository = database.getBean(CustomerRepository.class);
+        // Seeded company names are "Company <i>"
+        terms = new String[]{String.valueOf(rows / 20 + 7), "pany 1", "zzq"};
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public List<LookupOption> customers() {
+        String term = terms[next++ % terms.length];
+        return customerRepository.findTypeahead("%" + term + "%", term, LIMIT);
+    }
+}
@@ -0,0 +1,56 @@
+package com.cengiz.crm.benchmark;
+
+import com.cengiz.crm.security.CustomUserDetailsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Principal loading as done on every form login: user lookup by email plus role and permissions.
+ * With the principal cache enabled every call after the first per user is a cache hit and runs
+ * no SQL, so its time stays flat when the database is remote (-Dbench.jdbc.url) while the
+ * uncached variant pays the round trips on every login.
+ * The statement counts of a login and of the user list are asserted by CustomUserDetailsServiceTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserDetailsBenchmark {
+
+    @Param("10000")
+    public int rows;
+
+    @Param({"true", "false"})
+    public boolean principalCache;
+
+    private BenchmarkDatabase database;
+    private CustomUserDetailsService userDetailsService;
+    private String[] emails;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("crm.security.principal-cache.enabled", String.valueOf(principalCache));
+        database = BenchmarkDatabase.start(rows);
+        userDetailsService = database.getBean(CustomUserDetailsService.class);
+        emails = new String[BenchmarkDatabase.userCount(rows)];
+        for (int i = 0; i < emails.length; i++) {
+            emails[i] = String.format(BenchmarkDatabase.USER_EMAIL_FORMAT, i + 1);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        next = (next + 1) % emails.length;
+        return userDetailsService.loadUserByUsername(emails[next]);
+    }
+}
@@ -0,0 +1,105 @@
+package com.cengiz.crm.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Redis value serializers of the caches, in the format selected by crm.cache.serializer
+ * <ul>
+ * <li>JSON: readable, and what every entry written before the binary format used.</li>
+ * <li>SMILE: binary JSON, smaller and faster to encode; written with a schema version by
+ * {@link VersionedRedisSerializer}, still reading the JSON entries until they expire.</li>
+ * </ul>
+ * Typed serializers know the value type, so their payload carries no class names; generic ones
+ * embed them ({@code @class}) for caches holding values of any type.
+ */
+public final class CacheSerializers {
+
+    public enum Format {
+        JSON,
+        SMILE
+    }
+
+    /**
+     * Schema version of the generic serializer's payload
+     */
+    private static final int GENERIC_VERSION = 1;
+
+    private CacheSerializers() {
+    }
+
+    /**
+     * Serializer of a known value type
+     *
+     * @param version schema version of the type, see {@link VersionedRedisSerializer}; ignored for JSON
+     */
+    public static <T> RedisSerializer<T> typed(Format format, JavaType type, int version) {
+        RedisSerializer<T> json = json(type);
+        if (format != Format.SMILE) {
+            return json;
+        }
+        return new VersionedRedisSerializer<>(mapper(smileFactory()), type, version, json);
+    }
+
+    /**
+     * Serializer of values of any type, e.g. for the Spring cache manager
+     */
+    public static RedisSerializer<Object> generic(Format format) {
+        RedisSerializer<Object> json = new GenericJackson2JsonRedisSerializer(withTypeInfo(mapper(new JsonFactory())));
+        if (format != Format.SMILE) {
+            return json;
+        }
+        return new VersionedRedisSerializer<>(withTypeInfo(mapper(smileFactory())),
+                TypeFactory.defaultInstance().constructType(Object.class), GENERIC_VERSION, json);
+    }
+
+    /**
+     * Numbers come back as Long/BigDecimal, so cached stats keep their types in both formats
+     */
+    private static ObjectMapper mapper(JsonFactory factory) {
+        return new ObjectMapper(factory)
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                .enable(DeserializationFeature.USE_LONG_FOR_INTS);
+    }
+
+    private static <T> RedisSerializer<T> json(JavaType type) {
+        Jackson2JsonRedisSerializer<T> serializer = new Jackson2JsonRedisSerializer<>(type);
+        serializer.setObjectMapper(mapper(new JsonFactory()));
+        return serializer;
+    }
+
+    /**
+     * Same {@code @class} type information as the default GenericJackson2JsonRedisSerializer,
+     * so entries written by it stay readable
+     */
+    private static ObjectMapper withTypeInfo(ObjectMapper mapper) {
+        mapper.activateDefaultTyping(mapper.getPolymorphicTypeValidator(), ObjectMapper.DefaultTyping.EVERYTHING,
+                JsonTypeInfo.As.PROPERTY);
+        GenericJackson2JsonRedisSerializer.registerNullValueSerializer(mapper, null);
+        return mapper;
+    }
+
+    /**
+     * Repeated field names and short strings are written once and back-referenced
+     */
+    private static SmileFactory smileFactory() {
+        return SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+    }
+}
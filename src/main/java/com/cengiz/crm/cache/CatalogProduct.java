@@ -0,0 +1,42 @@
+package com.cengiz.crm.cache;
+
+import com.cengiz.crm.entity.Product;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable copy of the product fields needed to quote and price line items, held by {@link ProductCatalog}
+ */
+@Getter
+public final class CatalogProduct {
+
+    private final Long id;
+    private final String productCode;
+    private final String name;
+    private final String category;
+    private final String unit;
+    private final BigDecimal unitPrice;
+
+    /**
+     * Never null, products without a tax rate are taxed at zero
+     */
+    private final BigDecimal taxRate;
+
+    private final boolean active;
+
+    private CatalogProduct(Product product) {
+        this.id = product.getId();
+        this.productCode = product.getProductCode();
+        this.name = product.getName();
+        this.category = product.getCategory();
+        this.unit = product.getUnit();
+        this.unitPrice = product.getUnitPrice();
+        this.taxRate = product.getTaxRate() != null ? product.getTaxRate() : BigDecimal.ZERO;
+        this.active = Boolean.TRUE.equals(product.getIsActive());
+    }
+
+    static CatalogProduct of(Product product) {
+        return new CatalogProduct(product);
+    }
+}
@@ -0,0 +1,231 @@
+package com.cengiz.crm.cache;
+
+import com.cengiz.crm.entity.Product;
+import com.cengiz.crm.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Node-local, immutable snapshot of the live product catalog
+ * <ul>
+ * <li>Lookups by id and product code are hash lookups, the category index lists the products of a
+ * category in id order; none of them touches the database.</li>
+ * <li>Copy-on-write: a rebuild loads every live product into a new {@link Snapshot} and swaps it in
+ * with one volatile write, so readers see either the old or the new catalog, never a mix.</li>
+ * <li>Rebuilt after commit when a product is inserted, updated or deleted (ProductCatalogListener);
+ * the rebuild is announced over Redis pub/sub and every other node rebuilds its own copy. The
+ * periodic refresh bounds staleness if an announcement is lost.</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class ProductCatalog {
+
+    static final String CHANNEL = "crm:product-catalog:rebuild";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    private final ObjectProvider<RedisMessageListenerContainer> listenerContainer;
+
+    private volatile Snapshot snapshot;
+
+    public ProductCatalog(ProductRepository productRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            ObjectProvider<RedisMessageListenerContainer> listenerContainer) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Rebuilds run from afterCommit of the changing transaction, whose resources are still bound
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+
+        Gauge.builder("crm.catalog.products", this, catalog -> catalog.snapshot == null ? 0 : catalog.snapshot.size())
+                .description("Live products in this node's catalog snapshot")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.ifAvailable(container -> container.addMessageListener(
+                (message, pattern) -> onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CHANNEL)));
+    }
+
+    /**
+     * The current catalog; read it once and use the returned snapshot for a whole quote so all
+     * of its lines are priced from the same catalog version
+     */
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : rebuild();
+    }
+
+    public Optional<CatalogProduct> findById(Long id) {
+        return snapshot().findById(id);
+    }
+
+    public Optional<CatalogProduct> findByProductCode(String productCode) {
+        return snapshot().findByProductCode(productCode);
+    }
+
+    public List<CatalogProduct> findByCategory(String category) {
+        return snapshot().findByCategory(category);
+    }
+
+    public List<CatalogProduct> findActive() {
+        return snapshot().findActive();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${crm.catalog.refresh-interval:900000}",
+            initialDelayString = "${crm.catalog.refresh-interval:900000}")
+    public void scheduledRefresh() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild on this node after committed product changes and tell the other nodes to do the same.
+     * Runs in afterCommit of the changing transaction, so a failed rebuild is only logged: the change is
+     * already committed, and an exception would skip the transaction's remaining afterCommit callbacks.
+     * The periodic refresh repairs the snapshot.
+     */
+    public void productsChanged() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Could not rebuild product catalog after a product change, keeping the previous snapshot "
+                    + "until the next refresh: {}", e.getMessage());
+        }
+        StringRedisTemplate template = redisTemplate.getIfAvailable();
+        if (template == null) {
+            return;
+        }
+        try {
+            template.convertAndSend(CHANNEL, nodeId);
+        } catch (DataAccessException e) {
+            log.warn("Product catalog rebuild not broadcast, other nodes keep their snapshot until the next refresh: {}",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Load every live product and swap in a new snapshot
+     * Rebuilds are serialized, so a rebuild that started after a commit is never overwritten by an
+     * earlier one that read the rows before it.
+     */
+    public synchronized Snapshot rebuild() {
+        List<Product> products = readOnlyTransaction.execute(status -> productRepository.findCatalog());
+        Snapshot rebuilt = new Snapshot(products);
+        snapshot = rebuilt;
+        log.debug("Product catalog rebuilt with {} products", rebuilt.size());
+        return rebuilt;
+    }
+
+    private void onMessage(String sender) {
+        if (nodeId.equals(sender)) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Could not rebuild product catalog announced by node {}: {}", sender, e.getMessage());
+        }
+    }
+
+    /**
+     * One immutable version of the catalog with its indexes
+     */
+    public static final class Snapshot {
+
+        private final Map<Long, CatalogProduct> byId;
+        private final Map<String, CatalogProduct> byProductCode;
+        private final Map<String, List<CatalogProduct>> byCategory;
+        private final List<CatalogProduct> active;
+        private final Instant builtAt = Instant.now();
+
+        private Snapshot(List<Product> products) {
+            Map<Long, CatalogProduct> ids = new HashMap<>(products.size() * 4 / 3 + 1);
+            Map<String, CatalogProduct> codes = new HashMap<>(products.size() * 4 / 3 + 1);
+            Map<String, List<CatalogProduct>> categories = new HashMap<>();
+            List<CatalogProduct> activeProducts = new ArrayList<>(products.size());
+            for (Product product : products) {
+                CatalogProduct entry = CatalogProduct.of(product);
+                ids.put(entry.getId(), entry);
+                codes.put(entry.getProductCode(), entry);
+                if (entry.getCategory() != null) {
+                    categories.computeIfAbsent(entry.getCategory(), category -> new ArrayList<>()).add(entry);
+                }
+                if (entry.isActive()) {
+                    activeProducts.add(entry);
+                }
+            }
+            categories.replaceAll((category, entries) -> List.copyOf(entries));
+            this.byId = Map.copyOf(ids);
+            this.byProductCode = Map.copyOf(codes);
+            this.byCategory = Map.copyOf(categories);
+            this.active = List.copyOf(activeProducts);
+        }
+
+        public Optional<CatalogProduct> findById(Long id) {
+            return id == null ? Optional.empty() : Optional.ofNullable(byId.get(id));
+        }
+
+        public Optional<CatalogProduct> findByProductCode(String productCode) {
+            return productCode == null ? Optional.empty() : Optional.ofNullable(byProductCode.get(productCode));
+        }
+
+        /**
+         * Live products of the category, active or not, in id order
+         */
+        public List<CatalogProduct> findByCategory(String category) {
+            return category == null ? List.of() : byCategory.getOrDefault(category, List.of());
+        }
+
+        /**
+         * Live, active products in id order
+         */
+        public List<CatalogProduct> findActive() {
+            return active;
+        }
+
+        public int size() {
+            return byId.size();
+        }
+
+        public Instant getBuiltAt() {
+            return builtAt;
+        }
+    }
+}
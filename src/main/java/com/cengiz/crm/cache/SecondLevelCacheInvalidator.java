@@ -0,0 +1,129 @@
+package com.cengiz.crm.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cluster-wide invalidation of the node-local Hibernate second-level cache
+ * Hibernate keeps its own node's regions consistent; this broadcasts the entities committed here
+ * over Redis pub/sub, and every other node evicts them plus its query results, which may list them.
+ * Messages have the form {@code <node id> <entity name>#<id>}; a node ignores its own messages.
+ * <p>
+ * A load on the receiving node that read the old row before the commit can put it back into the cache
+ * after the eviction. Each eviction is therefore repeated once after {@code crm.cache.second-level.re-evict-delay}.
+ * A load that takes longer than that delay, or a lost message, still leaves a stale entry until the
+ * region's TTL in ehcache.xml expires it.
+ */
+@Component
+@Slf4j
+public class SecondLevelCacheInvalidator {
+
+    static final String CHANNEL = "crm:l2-cache:evict";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    private final ObjectProvider<RedisMessageListenerContainer> listenerContainer;
+    private final Duration reEvictDelay;
+    private final ScheduledExecutorService reEvictScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "l2-cache-re-evict");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SecondLevelCacheInvalidator(EntityManagerFactory entityManagerFactory,
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            ObjectProvider<RedisMessageListenerContainer> listenerContainer,
+            @Value("${crm.cache.second-level.re-evict-delay:PT5S}") Duration reEvictDelay) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.reEvictDelay = reEvictDelay;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.ifAvailable(container -> container.addMessageListener(
+                (message, pattern) -> onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CHANNEL)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reEvictScheduler.shutdownNow();
+    }
+
+    /**
+     * Tell the other nodes that the given entities changed
+     *
+     * @param keys {@code <entity name>#<id>} of each committed insert, update or delete
+     */
+    public void broadcast(Collection<String> keys) {
+        StringRedisTemplate template = redisTemplate.getIfAvailable();
+        if (template == null || keys.isEmpty()) {
+            return;
+        }
+        try {
+            keys.forEach(key -> template.convertAndSend(CHANNEL, nodeId + " " + key));
+        } catch (DataAccessException e) {
+            log.warn("Second-level cache eviction not broadcast, other nodes keep {} until it expires: {}",
+                    keys, e.getMessage());
+        }
+    }
+
+    public static String key(String entityName, Object id) {
+        return entityName + "#" + id;
+    }
+
+    private void onMessage(String message) {
+        int space = message.indexOf(' ');
+        int hash = message.lastIndexOf('#');
+        if (space < 0 || hash < space || message.startsWith(nodeId + " ")) {
+            return;
+        }
+        String entityName = message.substring(space + 1, hash);
+        Long id;
+        try {
+            id = Long.valueOf(message.substring(hash + 1));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed second-level cache eviction '{}'", message);
+            return;
+        }
+        evict(entityName, id);
+        try {
+            reEvictScheduler.schedule(() -> evict(entityName, id), reEvictDelay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.debug("Repeated second-level cache eviction of {}#{} skipped on shutdown", entityName, id);
+        }
+    }
+
+    private void evict(String entityName, Long id) {
+        try {
+            Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+            cache.evictEntityData(entityName, id);
+            cache.evictQueryRegions();
+        } catch (RuntimeException e) {
+            log.warn("Could not apply second-level cache eviction of {}#{}: {}", entityName, id, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package com.cengiz.crm.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier cache: in-process Caffeine (L1) in front of Redis (L2)
+ * <ul>
+ * <li>L1 misses are single-flight per key within a node: the first caller loads, later callers wait
+ * for its future. The load (Redis read, lock wait, source) runs outside any cache computation,
+ * so a slow key never blocks other keys.</li>
+ * <li>Loads from the source are guarded by a Redis lock, so only one node recomputes a key;
+ * the others wait for the value to appear in L2.</li>
+ * <li>Entries carry the time their value was loaded from the source, also when read from L2, so the
+ * L1 TTL counts from that time and the two TTLs do not add up.</li>
+ * <li>Once an entry is older than the refresh-ahead threshold it is still served, and a
+ * background reload refreshes L1 and L2 before the entry expires.</li>
+ * <li>Redis failures degrade to calling the loader directly.</li>
+ * </ul>
+ *
+ * @param <T> cached value type
+ */
+@Slf4j
+public class TieredCache<T> {
+
+    private static final RedisScript<Long> RELEASE_LOCK = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private static final long LOCK_POLL_MILLIS = 50;
+
+    private final String name;
+    private final AsyncCache<String, Entry<T>> local;
+    private final RedisTemplate<String, T> redisTemplate;
+    private final StringRedisTemplate lockTemplate;
+    private final TaskExecutor refreshExecutor;
+    private final Map<String, Boolean> refreshing = new ConcurrentHashMap<>();
+
+    private final Duration remoteTtl;
+    private final long refreshAfterNanos;
+    private final Duration lockTimeout;
+    private final Duration lockWait;
+
+    /**
+     * @param name            cache name, used as Redis key prefix
+     * @param serializer      L2 value serializer
+     * @param localTtl        L1 expire-after-write
+     * @param localMaxSize    L1 maximum number of entries
+     * @param remoteTtl       L2 time to live
+     * @param refreshAhead    fraction of the L1 TTL after which an entry is reloaded in the background
+     * @param lockTimeout     maximum time a node may hold the load lock of a key
+     * @param lockWait        how long a node waits for another node's load before loading itself
+     */
+    public TieredCache(String name, RedisSerializer<T> serializer, RedisConnectionFactory connectionFactory,
+            StringRedisTemplate lockTemplate, TaskExecutor refreshExecutor, Duration localTtl, long localMaxSize,
+            Duration remoteTtl, double refreshAhead, Duration lockTimeout, Duration lockWait) {
+        this.name = name;
+        this.local = Caffeine.newBuilder()
+                .expireAfter(new LoadTimeExpiry<T>(localTtl.toNanos()))
+                .maximumSize(localMaxSize)
+                .buildAsync();
+        this.redisTemplate = new RedisTemplate<>();
+        this.redisTemplate.setConnectionFactory(connectionFactory);
+        this.redisTemplate.setKeySerializer(new StringRedisSerializer());
+        this.redisTemplate.setValueSerializer(serializer);
+        this.redisTemplate.afterPropertiesSet();
+        this.lockTemplate = lockTemplate;
+        this.refreshExecutor = refreshExecutor;
+        this.remoteTtl = remoteTtl;
+        this.refreshAfterNanos = (long) (localTtl.toNanos() * refreshAhead);
+        this.lockTimeout = lockTimeout;
+        this.lockWait = lockWait;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Cached value of the key, loading it with the given loader if neither tier has it
+     */
+    public T get(String key, Supplier<T> loader) {
+        CompletableFuture<Entry<T>> cached = local.getIfPresent(key);
+        if (cached != null && cached.isDone() && !cached.isCompletedExceptionally()) {
+            Entry<T> entry = cached.join();
+            if (System.nanoTime() - entry.loadedAt > refreshAfterNanos) {
+                refreshAsync(key, loader);
+            }
+            return entry.value;
+        }
+        if (cached != null) {
+            return join(cached).value;
+        }
+
+        CompletableFuture<Entry<T>> loading = new CompletableFuture<>();
+        CompletableFuture<Entry<T>> existing = local.asMap().putIfAbsent(key, loading);
+        if (existing != null) {
+            return join(existing).value;
+        }
+        try {
+            Entry<T> entry = loadFromRemoteOrSource(key, loader);
+            loading.complete(entry);
+            if (System.nanoTime() - entry.loadedAt > refreshAfterNanos) {
+                // An aged L2 value is served once and reloaded in the background
+                refreshAsync(key, loader);
+            }
+            return entry.value;
+        } catch (RuntimeException e) {
+            // Failed futures are dropped by the cache, so the next caller retries
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Remove the key from both tiers
+     */
+    public void evict(String key) {
+        local.synchronous().invalidate(key);
+        try {
+            redisTemplate.delete(remoteKey(key));
+        } catch (DataAccessException e) {
+            log.warn("Cache {} could not evict {} from Redis: {}", name, key, e.getMessage());
+        }
+    }
+
+    private Entry<T> loadFromRemoteOrSource(String key, Supplier<T> loader) {
+        Entry<T> remote = readRemote(key);
+        return remote != null ? remote : loadWithLock(key, loader);
+    }
+
+    /**
+     * Load from the source while holding the key's lock; if another node holds it,
+     * wait for its result in L2 and only load locally once the wait times out
+     */
+    private Entry<T> loadWithLock(String key, Supplier<T> loader) {
+        String lockKey = lockKey(key);
+        String token = UUID.randomUUID().toString();
+        Boolean acquired;
+        try {
+            acquired = lockTemplate.opsForValue().setIfAbsent(lockKey, token, lockTimeout);
+        } catch (DataAccessException e) {
+            log.warn("Cache {} lock unavailable, loading {} without it: {}", name, key, e.getMessage());
+            return new Entry<>(loader.get());
+        }
+
+        if (Boolean.TRUE.equals(acquired)) {
+            try {
+                Entry<T> entry = new Entry<>(loader.get());
+                writeRemote(key, entry.value);
+                return entry;
+            } finally {
+                releaseLock(lockKey, token);
+            }
+        }
+
+        long deadline = System.nanoTime() + lockWait.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(LOCK_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            Entry<T> remote = readRemote(key);
+            if (remote != null) {
+                return remote;
+            }
+        }
+        Entry<T> entry = new Entry<>(loader.get());
+        writeRemote(key, entry.value);
+        return entry;
+    }
+
+    private void refreshAsync(String key, Supplier<T> loader) {
+        if (refreshing.putIfAbsent(key, Boolean.TRUE) != null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refresh(key, loader);
+                } catch (RuntimeException e) {
+                    log.warn("Cache {} could not refresh {}: {}", name, key, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Executor saturated: the entry is still served and refreshed on a later read
+            refreshing.remove(key);
+        }
+    }
+
+    private void refresh(String key, Supplier<T> loader) {
+        String lockKey = lockKey(key);
+        String token = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(lockTemplate.opsForValue().setIfAbsent(lockKey, token, lockTimeout))) {
+            // Another node is refreshing this key; pick up its result on a later read
+            return;
+        }
+        try {
+            Entry<T> entry = new Entry<>(loader.get());
+            writeRemote(key, entry.value);
+            local.put(key, CompletableFuture.completedFuture(entry));
+        } finally {
+            releaseLock(lockKey, token);
+        }
+    }
+
+    /**
+     * Value from L2 together with its remaining TTL in one pipelined round trip; the load time of the
+     * entry is derived from the TTL, since every write sets it to the full remote TTL
+     */
+    private Entry<T> readRemote(String key) {
+        String remoteKey = remoteKey(key);
+        try {
+            List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, T> redis = (RedisOperations<String, T>) operations;
+                    redis.opsForValue().get(remoteKey);
+                    redis.getExpire(remoteKey, TimeUnit.MILLISECONDS);
+                    return null;
+                }
+            });
+            @SuppressWarnings("unchecked")
+            T value = (T) results.get(0);
+            if (value == null) {
+                return null;
+            }
+            Long remainingMillis = (Long) results.get(1);
+            long ageNanos = remainingMillis == null || remainingMillis < 0 ? 0
+                    : Math.max(0, remoteTtl.toNanos() - TimeUnit.MILLISECONDS.toNanos(remainingMillis));
+            return new Entry<>(value, System.nanoTime() - ageNanos);
+        } catch (RuntimeException e) {
+            log.warn("Cache {} could not read {} from Redis: {}", name, key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRemote(String key, T value) {
+        if (value == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(remoteKey(key), value, remoteTtl);
+        } catch (RuntimeException e) {
+            log.warn("Cache {} could not write {} to Redis: {}", name, key, e.getMessage());
+        }
+    }
+
+    private void releaseLock(String lockKey, String token) {
+        try {
+            lockTemplate.execute(RELEASE_LOCK, Collections.singletonList(lockKey), token);
+        } catch (DataAccessException e) {
+            log.warn("Cache {} could not release lock {}: {}", name, lockKey, e.getMessage());
+        }
+    }
+
+    private String remoteKey(String key) {
+        return "crm:cache:" + name + ":" + key;
+    }
+
+    private String lockKey(String key) {
+        return "crm:cache-lock:" + name + ":" + key;
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static final class Entry<T> {
+
+        private final T value;
+
+        /**
+         * {@link System#nanoTime()} at which the value was loaded from the source
+         */
+        private final long loadedAt;
+
+        private Entry(T value) {
+            this(value, System.nanoTime());
+        }
+
+        private Entry(T value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /**
+     * Expires an L1 entry one local TTL after its value was loaded from the source, not after it was cached
+     */
+    private static final class LoadTimeExpiry<T> implements Expiry<String, Entry<T>> {
+
+        private final long ttlNanos;
+
+        private LoadTimeExpiry(long ttlNanos) {
+            this.ttlNanos = ttlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Entry<T> entry, long currentTime) {
+            return Math.max(0, entry.loadedAt + ttlNanos - currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry<T> entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry<T> entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
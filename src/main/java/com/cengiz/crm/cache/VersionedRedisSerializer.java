@@ -0,0 +1,85 @@
+package com.cengiz.crm.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Binary Redis value serializer with a schema version and a fallback for older entries
+ * Values are written as {@code [MARKER][version][payload]}, the payload encoded by a binary Jackson
+ * mapper (Smile). On read:
+ * <ul>
+ * <li>a marked value of the current version is decoded;</li>
+ * <li>a marked value of another version reads as a miss (null), so the caller reloads and overwrites it;</li>
+ * <li>anything else was written before this serializer (plain JSON) and goes to the fallback serializer.</li>
+ * </ul>
+ * The marker byte can start neither a JSON document nor a Smile one.
+ *
+ * @param <T> value type
+ */
+public class VersionedRedisSerializer<T> implements RedisSerializer<T> {
+
+    static final byte MARKER = 0x01;
+
+    private static final int HEADER_LENGTH = 2;
+    private static final int INITIAL_BUFFER = 256;
+
+    private final ObjectMapper mapper;
+    private final JavaType type;
+    private final byte version;
+    private final RedisSerializer<T> fallback;
+
+    /**
+     * @param mapper   binary mapper writing the payload
+     * @param type     value type to decode
+     * @param version  schema version of the value type, 1-127; bump it when the type changes incompatibly
+     * @param fallback serializer of the entries written before, used for unmarked values only
+     */
+    public VersionedRedisSerializer(ObjectMapper mapper, JavaType type, int version, RedisSerializer<T> fallback) {
+        if (version < 1 || version > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Version must be between 1 and 127: " + version);
+        }
+        this.mapper = mapper;
+        this.type = type;
+        this.version = (byte) version;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(INITIAL_BUFFER);
+        out.write(MARKER);
+        out.write(version);
+        try {
+            mapper.writeValue(out, value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write " + type + ": " + e.getMessage(), e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MARKER) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_LENGTH || bytes[1] != version) {
+            return null;
+        }
+        try {
+            return mapper.readValue(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH, type);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read " + type + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.cengiz.crm.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.task.DelegatingSecurityContextAsyncTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Async Executor Configuration
+ * Bounded executors for work fanned out from request threads
+ */
+@Configuration
+@Slf4j
+public class AsyncConfig {
+
+    @Value("${crm.dashboard.executor.max-threads:4}")
+    private int dashboardMaxThreads;
+
+    @Value("${crm.dashboard.executor.queue-capacity:100}")
+    private int dashboardQueueCapacity;
+
+    @Value("${crm.export.max-concurrent:2}")
+    private int exportMaxConcurrent;
+
+    @Value("${crm.export.queue-capacity:20}")
+    private int exportQueueCapacity;
+
+    @Value("${crm.import.queue-capacity:10}")
+    private int importQueueCapacity;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
+    /**
+     * Boot's default executor for @Async methods and MVC async requests. Boot only creates it when no
+     * other Executor bean exists, so with the dedicated executors below it is declared here, built by
+     * Boot's builder from the spring.task.execution properties, and marked primary so unqualified
+     * TaskExecutor injection points never pick one of the dedicated pools by accident.
+     */
+    @Primary
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Executor for the dashboard sections. Every section holds at most one JDBC connection,
+     * so the pool is capped at half of the Hikari pool to leave connections for regular requests.
+     * When the queue is full the section runs on the request thread instead of failing.
+     * The caller's SecurityContext is propagated to the worker threads.
+     */
+    @Bean
+    public AsyncTaskExecutor dashboardExecutor() {
+        int maxThreads = Math.max(1, Math.min(dashboardMaxThreads, connectionPoolSize / 2));
+        if (maxThreads < dashboardMaxThreads) {
+            log.warn("Dashboard executor limited to {} threads to keep the {}-connection pool from draining",
+                    maxThreads, connectionPoolSize);
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxThreads);
+        executor.setMaxPoolSize(maxThreads);
+        executor.setQueueCapacity(dashboardQueueCapacity);
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return new DelegatingSecurityContextAsyncTaskExecutor(executor);
+    }
+
+    /**
+     * Executor that recomputes per-user dashboard rollups after commit.
+     * Two threads keep the refreshes off the request path without competing for many connections;
+     * under a backlog the committing thread refreshes itself, which slows writers instead of dropping updates.
+     */
+    @Bean
+    public TaskExecutor rollupExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("rollup-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor that applies changes to the global search index. A single thread with an unbounded
+     * queue keeps index writes in commit order; a full rebuild runs here too, one batch per task,
+     * so incremental changes interleave with it instead of racing it.
+     */
+    @Bean
+    public TaskExecutor searchIndexExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("search-index-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor that streams CSV exports to the client. Each export holds a JDBC connection for its
+     * whole duration, so only a few run at once; further requests wait in the queue and are
+     * rejected with 503 once it is full.
+     */
+    @Bean
+    public AsyncTaskExecutor exportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(exportMaxConcurrent);
+        executor.setMaxPoolSize(exportMaxConcurrent);
+        executor.setQueueCapacity(exportQueueCapacity);
+        executor.setThreadNamePrefix("export-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor that runs bulk CSV imports. One import at a time keeps the write load on the database
+     * predictable and avoids two files racing on the same e-mail addresses; validation inside an
+     * import is parallelized separately. A full queue is rejected with 503.
+     */
+    @Bean
+    public TaskExecutor importExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(importQueueCapacity);
+        executor.setThreadNamePrefix("import-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,104 @@
+package com.cengiz.crm.config;
+
+import com.cengiz.crm.cache.CacheSerializers;
+import com.cengiz.crm.cache.TieredCache;
+import com.cengiz.crm.dto.ActivityFeed;
+import com.cengiz.crm.dto.Forecast;
+import com.cengiz.crm.repository.projection.StageSummary;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Two-Tier Cache Configuration
+ * Defines the L1 (Caffeine) + L2 (Redis) caches used by the dashboard and the forecast;
+ * L2 values are written in the crm.cache.serializer format (see {@link CacheSerializers})
+ */
+@Configuration
+public class CacheConfig {
+
+    @Value("${crm.cache.dashboard.local-ttl:PT15S}")
+    private Duration localTtl;
+
+    @Value("${crm.cache.dashboard.local-max-size:1000}")
+    private long localMaxSize;
+
+    @Value("${crm.cache.dashboard.remote-ttl:PT2M}")
+    private Duration remoteTtl;
+
+    @Value("${crm.cache.dashboard.refresh-ahead:0.75}")
+    private double refreshAhead;
+
+    @Value("${crm.cache.dashboard.lock-timeout:PT10S}")
+    private Duration lockTimeout;
+
+    @Value("${crm.cache.dashboard.lock-wait:PT3S}")
+    private Duration lockWait;
+
+    @Value("${crm.cache.serializer:SMILE}")
+    private CacheSerializers.Format serializerFormat;
+
+    @Bean
+    public TaskExecutor cacheRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("cache-refresh-");
+        // A refresh that cannot be queued is simply retried by a later read
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public TieredCache<Map<String, Object>> dashboardStatsCache(RedisConnectionFactory connectionFactory,
+            StringRedisTemplate stringRedisTemplate) {
+        TypeFactory types = TypeFactory.defaultInstance();
+        return tieredCache("dashboard-stats", types.constructMapType(Map.class, String.class, Object.class), 1,
+                connectionFactory, stringRedisTemplate);
+    }
+
+    @Bean
+    public TieredCache<List<StageSummary>> pipelineCache(RedisConnectionFactory connectionFactory,
+            StringRedisTemplate stringRedisTemplate) {
+        TypeFactory types = TypeFactory.defaultInstance();
+        return tieredCache("dashboard-pipeline", types.constructCollectionType(List.class, StageSummary.class), 1,
+                connectionFactory, stringRedisTemplate);
+    }
+
+    @Bean
+    public TieredCache<ActivityFeed> activityFeedCache(RedisConnectionFactory connectionFactory,
+            StringRedisTemplate stringRedisTemplate) {
+        return tieredCache("dashboard-activity-feed", TypeFactory.defaultInstance().constructType(ActivityFeed.class), 1,
+                connectionFactory, stringRedisTemplate);
+    }
+
+    @Bean
+    public TieredCache<Forecast> forecastCache(RedisConnectionFactory connectionFactory,
+            StringRedisTemplate stringRedisTemplate) {
+        return tieredCache("forecast", TypeFactory.defaultInstance().constructType(Forecast.class), 1,
+                connectionFactory, stringRedisTemplate);
+    }
+
+    /**
+     * @param version schema version of the cached type; bump it when the type changes incompatibly,
+     *                entries of the previous version then read as misses instead of failing
+     */
+    private <T> TieredCache<T> tieredCache(String name, JavaType type, int version,
+            RedisConnectionFactory connectionFactory, StringRedisTemplate stringRedisTemplate) {
+        return new TieredCache<>(name, CacheSerializers.typed(serializerFormat, type, version), connectionFactory,
+                stringRedisTemplate, cacheRefreshExecutor(), localTtl, localMaxSize, remoteTtl, refreshAhead, lockTimeout, lockWait);
+    }
+}
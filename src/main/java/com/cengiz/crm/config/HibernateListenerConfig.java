@@ -0,0 +1,55 @@
+package com.cengiz.crm.config;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Hibernate Event Listener Configuration
+ * Registers every Spring bean implementing a Hibernate post-insert/update/delete or
+ * post-collection-recreate/update/remove listener with the session factory's event listener registry
+ */
+@Configuration
+@RequiredArgsConstructor
+public class HibernateListenerConfig {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectProvider<PostInsertEventListener> postInsertListeners;
+    private final ObjectProvider<PostUpdateEventListener> postUpdateListeners;
+    private final ObjectProvider<PostDeleteEventListener> postDeleteListeners;
+    private final ObjectProvider<PostCollectionRecreateEventListener> postCollectionRecreateListeners;
+    private final ObjectProvider<PostCollectionUpdateEventListener> postCollectionUpdateListeners;
+    private final ObjectProvider<PostCollectionRemoveEventListener> postCollectionRemoveListeners;
+
+    @PostConstruct
+    public void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImpl.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        postInsertListeners.orderedStream()
+                .forEach(listener -> registry.appendListeners(EventType.POST_INSERT, listener));
+        postUpdateListeners.orderedStream()
+                .forEach(listener -> registry.appendListeners(EventType.POST_UPDATE, listener));
+        postDeleteListeners.orderedStream()
+                .forEach(listener -> registry.appendListeners(EventType.POST_DELETE, listener));
+        postCollectionRecreateListeners.orderedStream()
+                .forEach(listener -> registry.appendListeners(EventType.POST_COLLECTION_RECREATE, listener));
+        postCollectionUpdateListeners.orderedStream()
+                .forEach(listener -> registry.appendListeners(EventType.POST_COLLECTION_UPDATE, listener));
+        postCollectionRemoveListeners.orderedStream()
+                .forEach(listener -> registry.appendListeners(EventType.POST_COLLECTION_REMOVE, listener));
+    }
+}
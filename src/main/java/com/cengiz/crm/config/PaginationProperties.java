@@ -0,0 +1,36 @@
+package com.cengiz.crm.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pagination Properties
+ * Binds crm.pagination.* and normalizes page sizes requested by clients
+ */
+@Component
+@ConfigurationProperties(prefix = "crm.pagination")
+@Getter
+@Setter
+public class PaginationProperties {
+
+    private int defaultPageSize = 20;
+
+    private int maxPageSize = 100;
+
+    /**
+     * Filtered lists count matching rows only up to this number and show "N+" beyond it
+     */
+    private int countLimit = 10000;
+
+    /**
+     * Requested page size, or the default when absent, clamped to [1, maxPageSize]
+     */
+    public int resolvePageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
+    }
+}
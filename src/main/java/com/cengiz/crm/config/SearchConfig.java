@@ -0,0 +1,29 @@
+package com.cengiz.crm.config;
+
+import com.cengiz.crm.search.GlobalSearchIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Global Search Configuration
+ * Opens the node-local Lucene index used by the global search box
+ */
+@Configuration
+public class SearchConfig {
+
+    @Value("${crm.search.index-dir:./search-index}")
+    private String indexDir;
+
+    @Bean(destroyMethod = "close")
+    public GlobalSearchIndex globalSearchIndex() throws IOException {
+        Path directory = Paths.get(indexDir);
+        Files.createDirectories(directory);
+        return new GlobalSearchIndex(directory);
+    }
+}
@@ -0,0 +1,48 @@
+package com.cengiz.crm.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.io.IOException;
+
+/**
+ * Hibernate Second-Level Cache Configuration
+ * Node-local Ehcache 3 regions (ehcache.xml) for the reference data entities Permission and Product
+ * and for their cacheable queries. The JCache manager is created here and handed to Hibernate, so the
+ * same regions can be bound to Micrometer: hits, misses, puts, evictions and removals per region are
+ * published as the cache.* metrics tagged cacheManager=hibernate.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() throws IOException {
+        return Caching.getCachingProvider(EhcacheCachingProvider.class.getName())
+                .getCacheManager(new ClassPathResource("ehcache.xml").getURI(), getClass().getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            // A region missing from ehcache.xml would otherwise be created unbounded
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> hibernateCacheManager.getCacheNames().forEach(name -> {
+            hibernateCacheManager.enableStatistics(name, true);
+            JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(name), "cacheManager", "hibernate");
+        });
+    }
+}
@@ -16,7 +16,9 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.NegatedRequestMatcher;
 
 /**
  * Güvenlik Yapılandırması
@@ -67,6 +69,8 @@ public class SecurityConfig {
 
                         // Manager and above
                         .antMatchers("/reports/**").hasAnyRole("ADMIN", "MANAGER")
+                        .antMatchers("/export/**").hasAnyRole("ADMIN", "MANAGER")
+                        .antMatchers("/api/import/**").hasAnyRole("ADMIN", "MANAGER")
                         .antMatchers("/settings/**").hasAnyRole("ADMIN", "MANAGER")
 
                         // Authenticated users
@@ -96,8 +100,11 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .maximumSessions(1)
                         .maxSessionsPreventsLogin(false))
+                // The import API is used with the browser session and accepts uploads, so it keeps CSRF protection
                 .csrf(csrf -> csrf
-                        .ignoringAntMatchers("/api/**"))
+                        .ignoringRequestMatchers(new AndRequestMatcher(
+                                new AntPathRequestMatcher("/api/**"),
+                                new NegatedRequestMatcher(new AntPathRequestMatcher("/api/import/**")))))
                 .headers(headers -> headers
                         .frameOptions().sameOrigin());
 
@@ -0,0 +1,32 @@
+package com.cengiz.crm.config;
+
+import com.cengiz.crm.entity.base.BaseEntity;
+import org.hibernate.Session;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+/**
+ * Soft Delete Configuration
+ * Enables the {@link BaseEntity#LIVE_FILTER} filter on every EntityManager the application creates,
+ * transactional or not, so JPQL queries and collections only ever see live rows.
+ * Deletes are turned into updates by the {@code @SQLDelete} mapping of each entity.
+ */
+@Configuration
+public class SoftDeleteConfig {
+
+    @Bean
+    public static BeanPostProcessor liveFilterInitializer() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean) {
+                    ((AbstractEntityManagerFactoryBean) bean).setEntityManagerInitializer(entityManager ->
+                            entityManager.unwrap(Session.class).enableFilter(BaseEntity.LIVE_FILTER));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,10 +1,13 @@
 package com.cengiz.crm.controller;
 
+import com.cengiz.crm.dto.CustomerFilter;
 import com.cengiz.crm.entity.Customer;
+import com.cengiz.crm.enums.CustomerSort;
 import com.cengiz.crm.enums.CustomerStatus;
 import com.cengiz.crm.enums.CustomerType;
 import com.cengiz.crm.service.CustomerService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -12,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import javax.validation.Valid;
+import java.util.List;
 
 @Controller
 @RequestMapping("/crm/customers")
@@ -30,9 +34,21 @@ public class CustomerController {
         return CustomerStatus.values();
     }
 
+    @ModelAttribute("customerSorts")
+    public CustomerSort[] customerSorts() {
+        return CustomerSort.values();
+    }
+
     @GetMapping
-    public String listCustomers(Model model) {
-        model.addAttribute("customers", customerService.findAll());
+    public String listCustomers(@ModelAttribute("filter") CustomerFilter filter,
+            @RequestParam(defaultValue = "NAME_ASC") CustomerSort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            Model model) {
+        model.addAttribute("page", customerService.findPage(filter, sort, cursor, size));
+        model.addAttribute("sort", sort);
+        model.addAttribute("size", size);
+        model.addAttribute("firstPage", cursor == null || cursor.isBlank());
         return "customers/list";
     }
 
@@ -78,4 +94,20 @@ public class CustomerController {
         }
         return "redirect:/crm/customers";
     }
+
+    @PostMapping("/bulk-delete")
+    public String bulkDelete(@RequestParam(name = "ids", required = false) List<Long> ids,
+            Authentication authentication, RedirectAttributes redirectAttributes) {
+        if (ids == null || ids.isEmpty()) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Silinecek kayıt seçilmedi.");
+            return "redirect:/crm/customers";
+        }
+        try {
+            int deleted = customerService.softDeleteAll(ids, authentication.getName());
+            redirectAttributes.addFlashAttribute("successMessage", deleted + " müşteri silindi.");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Müşteriler silinirken hata oluştu.");
+        }
+        return "redirect:/crm/customers";
+    }
 }
@@ -1,12 +1,35 @@
 package com.cengiz.crm.controller;
 
+import com.cengiz.crm.dto.ActivityFeed;
+import com.cengiz.crm.dto.Forecast;
+import com.cengiz.crm.dto.UserDashboard;
+import com.cengiz.crm.enums.ForecastPeriod;
+import com.cengiz.crm.repository.projection.StageSummary;
 import com.cengiz.crm.service.DashboardService;
-import lombok.RequiredArgsConstructor;
+import com.cengiz.crm.service.ForecastService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 /**
  * Gösterge Paneli Controller
@@ -16,18 +39,116 @@ import org.springframework.web.bind.annotation.RequestMapping;
  */
 @Controller
 @RequestMapping("/dashboard")
-@RequiredArgsConstructor
+@Slf4j
 public class DashboardController {
 
+    private static final int FEED_PAGE_SIZE = 10;
+    private static final String SCOPE_ALL = "all";
+    private static final String SCOPE_MINE = "mine";
+
     private final DashboardService dashboardService;
+    private final ForecastService forecastService;
+    private final AsyncTaskExecutor dashboardExecutor;
+
+    @Value("${crm.dashboard.section-timeout:PT2S}")
+    private Duration sectionTimeout;
+
+    public DashboardController(DashboardService dashboardService, ForecastService forecastService,
+            @Qualifier("dashboardExecutor") AsyncTaskExecutor dashboardExecutor) {
+        this.dashboardService = dashboardService;
+        this.forecastService = forecastService;
+        this.dashboardExecutor = dashboardExecutor;
+    }
 
+    /**
+     * Bölümler paralel yüklenir; süresi dolan veya hata veren bölüm boş gösterilir
+     * ve adı "unavailableSections" listesine eklenir
+     */
     @GetMapping
-    public String dashboard(Model model, Authentication authentication) {
-        model.addAttribute("stats", dashboardService.getDashboardStats());
-        model.addAttribute("recentActivities", dashboardService.getRecentActivities(10));
-        model.addAttribute("upcomingActivities", dashboardService.getUpcomingActivities(10));
-        model.addAttribute("pipelineData", dashboardService.getPipelineData());
-        model.addAttribute("currentUser", authentication.getName());
+    public String dashboard(@RequestParam(defaultValue = SCOPE_ALL) String scope, Model model,
+            Authentication authentication) {
+        boolean mine = SCOPE_MINE.equals(scope);
+        String email = authentication.getName();
+        Long ownerId = mine ? dashboardService.getUserId(email) : null;
+
+        // "Benim" görünümünde istatistikler ve huni kullanıcının tek özet satırından okunur,
+        // akışlar, geciken aktiviteler ve tahmin ise kullanıcıya atanmış/ait kayıtlarla sınırlanır
+        CompletableFuture<UserDashboard> userDashboard = mine
+                ? CompletableFuture.supplyAsync(() -> dashboardService.getUserDashboard(email), dashboardExecutor)
+                : null;
+        CompletableFuture<?> stats = mine
+                ? userDashboard.thenApply(UserDashboard::getStats)
+                : submit(dashboardService::getDashboardStats);
+        CompletableFuture<?> pipelineSummary = mine
+                ? userDashboard.thenApply(UserDashboard::getPipelineSummary)
+                : submit(() -> dashboardService.getPipelineSummary(null, null, null));
+        CompletableFuture<?> recentFeed = submit(() -> dashboardService.getRecentFeed(null, FEED_PAGE_SIZE, ownerId));
+        CompletableFuture<?> upcomingFeed =
+                submit(() -> dashboardService.getUpcomingFeed(null, FEED_PAGE_SIZE, ownerId));
+        CompletableFuture<?> overdueByAssignee = submit(() -> dashboardService.getOverdueByAssignee(ownerId));
+        CompletableFuture<?> forecast =
+                submit(() -> forecastService.getForecast(ForecastPeriod.QUARTER, null, null, ownerId));
+
+        // All sections share one deadline, so the page waits at most one timeout in total
+        long deadline = System.nanoTime() + sectionTimeout.toNanos();
+        List<String> unavailable = new ArrayList<>();
+        model.addAttribute("scope", mine ? SCOPE_MINE : SCOPE_ALL);
+        model.addAttribute("stats", await("stats", stats, Collections.emptyMap(), deadline, unavailable));
+        model.addAttribute("recentFeed", await("recentFeed", recentFeed, new ActivityFeed(), deadline, unavailable));
+        model.addAttribute("upcomingFeed", await("upcomingFeed", upcomingFeed, new ActivityFeed(), deadline, unavailable));
+        model.addAttribute("pipelineSummary",
+                await("pipelineSummary", pipelineSummary, Collections.emptyList(), deadline, unavailable));
+        model.addAttribute("overdueByAssignee",
+                await("overdueByAssignee", overdueByAssignee, Collections.emptyList(), deadline, unavailable));
+        model.addAttribute("forecast", await("forecast", forecast, new Forecast(), deadline, unavailable));
+        model.addAttribute("unavailableSections", unavailable);
+        model.addAttribute("currentUser", email);
         return "dashboard/index";
     }
+
+    @GetMapping("/activities/recent")
+    public String recentActivities(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = SCOPE_ALL) String scope, Model model, Authentication authentication) {
+        Long ownerId = SCOPE_MINE.equals(scope) ? dashboardService.getUserId(authentication.getName()) : null;
+        model.addAttribute("feed", dashboardService.getRecentFeed(cursor, FEED_PAGE_SIZE, ownerId));
+        model.addAttribute("scope", ownerId != null ? SCOPE_MINE : SCOPE_ALL);
+        return "dashboard/feed :: recentItems";
+    }
+
+    @GetMapping("/activities/upcoming")
+    public String upcomingActivities(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = SCOPE_ALL) String scope, Model model, Authentication authentication) {
+        Long ownerId = SCOPE_MINE.equals(scope) ? dashboardService.getUserId(authentication.getName()) : null;
+        model.addAttribute("feed", dashboardService.getUpcomingFeed(cursor, FEED_PAGE_SIZE, ownerId));
+        model.addAttribute("scope", ownerId != null ? SCOPE_MINE : SCOPE_ALL);
+        return "dashboard/feed :: upcomingItems";
+    }
+
+    @GetMapping("/pipeline")
+    @ResponseBody
+    public List<StageSummary> pipeline(@RequestParam(required = false) Long ownerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return dashboardService.getPipelineSummary(ownerId, from, to);
+    }
+
+    private CompletableFuture<?> submit(Supplier<?> section) {
+        return CompletableFuture.supplyAsync(section, dashboardExecutor);
+    }
+
+    private Object await(String name, CompletableFuture<?> section, Object fallback, long deadline,
+            List<String> unavailable) {
+        try {
+            return section.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Dashboard section {} timed out after {}", name, sectionTimeout);
+            section.cancel(false);
+        } catch (ExecutionException e) {
+            log.error("Dashboard section {} failed", name, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        unavailable.add(name);
+        return fallback;
+    }
 }
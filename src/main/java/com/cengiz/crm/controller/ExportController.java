@@ -0,0 +1,98 @@
+package com.cengiz.crm.controller;
+
+import com.cengiz.crm.service.ExportService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Dışa Aktarma Controller
+ * CSV dosyaları yanıt akışına satır satır yazılır; dosya bellekte oluşturulmaz
+ * ve yazma işlemi istek iş parçacığını meşgul etmeden exportExecutor üzerinde yürür.
+ * Yürütücü ve zaman aşımı yalnızca bu uç noktalara uygulanır; diğer asenkron istekler
+ * varsayılan ayarlarla çalışır.
+ *
+ * @author Cengiz
+ */
+@Controller
+@RequestMapping("/export")
+public class ExportController {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private final ExportService exportService;
+    private final AsyncTaskExecutor exportExecutor;
+
+    @Value("${crm.export.timeout:PT30M}")
+    private Duration timeout;
+
+    public ExportController(ExportService exportService,
+            @Qualifier("exportExecutor") AsyncTaskExecutor exportExecutor) {
+        this.exportService = exportService;
+        this.exportExecutor = exportExecutor;
+    }
+
+    @GetMapping("/customers.csv")
+    public WebAsyncTask<Void> exportCustomers(HttpServletResponse response) {
+        return csv("customers", response, exportService::exportCustomers);
+    }
+
+    @GetMapping("/leads.csv")
+    public WebAsyncTask<Void> exportLeads(HttpServletResponse response) {
+        return csv("leads", response, exportService::exportLeads);
+    }
+
+    @GetMapping("/opportunities.csv")
+    public WebAsyncTask<Void> exportOpportunities(HttpServletResponse response) {
+        return csv("opportunities", response, exportService::exportOpportunities);
+    }
+
+    /**
+     * Başlıklar hemen yazılır, dosya içeriği exportExecutor üzerinde yanıta akıtılır.
+     * HttpServletResponse parametresi isteği işlenmiş sayar; görünüm çözümlenmez.
+     */
+    private WebAsyncTask<Void> csv(String name, HttpServletResponse response, ExportWriter writer) {
+        String filename = name + "-" + LocalDate.now() + ".csv";
+        response.setContentType(TEXT_CSV.toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString());
+        return new WebAsyncTask<>(timeout.toMillis(), exportExecutor, () -> {
+            OutputStream out = response.getOutputStream();
+            writer.write(out);
+            out.flush();
+            return null;
+        });
+    }
+
+    /**
+     * Export kuyruğu dolu; istemci daha sonra tekrar denemeli
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Void> exportBusy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "60").build();
+    }
+
+    @FunctionalInterface
+    private interface ExportWriter {
+
+        long write(OutputStream out) throws IOException;
+    }
+}
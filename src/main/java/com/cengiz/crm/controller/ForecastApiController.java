@@ -0,0 +1,41 @@
+package com.cengiz.crm.controller;
+
+import com.cengiz.crm.dto.Forecast;
+import com.cengiz.crm.enums.ForecastPeriod;
+import com.cengiz.crm.service.ForecastService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+
+/**
+ * Gelir Tahmini API Controller
+ * Açık fırsatların dönem, sahip ve aşama bazında ham ve ağırlıklı tahmini
+ *
+ * @author Cengiz
+ */
+@RestController
+@RequestMapping("/api/forecast")
+@RequiredArgsConstructor
+public class ForecastApiController {
+
+    private final ForecastService forecastService;
+
+    @GetMapping
+    public Forecast forecast(@RequestParam(defaultValue = "MONTH") ForecastPeriod period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long ownerId) {
+        try {
+            return forecastService.getForecast(period, from, to, ownerId);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.cengiz.crm.controller;
+
+import com.cengiz.crm.dto.GlobalSearchHit;
+import com.cengiz.crm.enums.SearchEntityType;
+import com.cengiz.crm.service.GlobalSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Genel Arama API Controller
+ * Tek arama kutusu: müşteri, kişi, potansiyel müşteri, fırsat ve ürünlerde birlikte arama
+ *
+ * @author Cengiz
+ */
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class GlobalSearchApiController {
+
+    private final GlobalSearchService globalSearchService;
+
+    @GetMapping
+    public List<GlobalSearchHit> search(@RequestParam("q") String text,
+            @RequestParam(required = false) List<SearchEntityType> types,
+            @RequestParam(required = false) Integer limit) {
+        return globalSearchService.search(text, types, limit);
+    }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> rebuild() {
+        return ResponseEntity.status(globalSearchService.rebuild() ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT)
+                .build();
+    }
+}
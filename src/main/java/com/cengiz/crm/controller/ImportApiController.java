@@ -0,0 +1,84 @@
+package com.cengiz.crm.controller;
+
+import com.cengiz.crm.dto.ImportProgress;
+import com.cengiz.crm.enums.ImportType;
+import com.cengiz.crm.service.BulkImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Toplu İçe Aktarma API Controller
+ * CSV dosyasını yükler ve iş kimliğini döner; ilerleme Location adresinden sorgulanır.
+ * İş durumu dosyayı alan düğümde tutulur.
+ * Yükleme oturum çerezi ile yapıldığından CSRF token'ı gerekir (X-CSRF-TOKEN başlığı veya _csrf alanı).
+ *
+ * @author Cengiz
+ */
+@RestController
+@RequestMapping("/api/import")
+@RequiredArgsConstructor
+public class ImportApiController {
+
+    private final BulkImportService bulkImportService;
+
+    @PostMapping("/leads")
+    public ResponseEntity<ImportProgress> importLeads(@RequestParam("file") MultipartFile file,
+            Authentication authentication) throws IOException {
+        return submit(ImportType.LEAD, file, authentication);
+    }
+
+    @PostMapping("/customers")
+    public ResponseEntity<ImportProgress> importCustomers(@RequestParam("file") MultipartFile file,
+            Authentication authentication) throws IOException {
+        return submit(ImportType.CUSTOMER, file, authentication);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportProgress> progress(@PathVariable String jobId) {
+        return ResponseEntity.of(bulkImportService.getProgress(jobId));
+    }
+
+    /**
+     * Dosya başlığı eksik veya okunamıyor
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> invalidFile(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
+    /**
+     * İçe aktarma kuyruğu dolu; istemci daha sonra tekrar denemeli
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Void> importBusy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "60").build();
+    }
+
+    private ResponseEntity<ImportProgress> submit(ImportType type, MultipartFile file, Authentication authentication)
+            throws IOException {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("The file is empty");
+        }
+        ImportProgress progress = bulkImportService.submit(type, file, authentication.getName());
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/api/import/{jobId}").buildAndExpand(progress.getJobId()).toUri())
+                .body(progress);
+    }
+}
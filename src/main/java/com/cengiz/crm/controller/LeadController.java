@@ -1,10 +1,13 @@
 package com.cengiz.crm.controller;
 
+import com.cengiz.crm.dto.LeadFacets;
+import com.cengiz.crm.dto.LeadFilter;
 import com.cengiz.crm.entity.Lead;
 import com.cengiz.crm.enums.LeadSource;
 import com.cengiz.crm.enums.LeadStatus;
 import com.cengiz.crm.service.LeadService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -12,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import javax.validation.Valid;
+import java.util.List;
 
 @Controller
 @RequestMapping("/crm/leads")
@@ -31,8 +35,15 @@ public class LeadController {
     }
 
     @GetMapping
-    public String listLeads(Model model) {
-        model.addAttribute("leads", leadService.findAll());
+    public String listLeads(@ModelAttribute("filter") LeadFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            Model model) {
+        LeadFacets facets = leadService.getFacets(filter);
+        model.addAttribute("facets", facets);
+        model.addAttribute("page", leadService.findInboxPage(filter, cursor, size, facets.getTotal()));
+        model.addAttribute("size", size);
+        model.addAttribute("firstPage", cursor == null || cursor.isBlank());
         return "leads/list";
     }
 
@@ -78,4 +89,20 @@ public class LeadController {
         }
         return "redirect:/crm/leads";
     }
+
+    @PostMapping("/bulk-delete")
+    public String bulkDelete(@RequestParam(name = "ids", required = false) List<Long> ids,
+            Authentication authentication, RedirectAttributes redirectAttributes) {
+        if (ids == null || ids.isEmpty()) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Silinecek kayıt seçilmedi.");
+            return "redirect:/crm/leads";
+        }
+        try {
+            int deleted = leadService.softDeleteAll(ids, authentication.getName());
+            redirectAttributes.addFlashAttribute("successMessage", deleted + " potansiyel müşteri silindi.");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Potansiyel müşteriler silinirken hata oluştu.");
+        }
+        return "redirect:/crm/leads";
+    }
 }
@@ -0,0 +1,44 @@
+package com.cengiz.crm.controller;
+
+import com.cengiz.crm.repository.projection.LookupOption;
+import com.cengiz.crm.service.TypeaheadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Otomatik Tamamlama API Controller
+ * Fırsat ve kalem formlarındaki müşteri, kişi ve ürün seçicileri için id/etiket listeleri
+ *
+ * @author Cengiz
+ */
+@RestController
+@RequestMapping("/api/typeahead")
+@RequiredArgsConstructor
+public class TypeaheadApiController {
+
+    private final TypeaheadService typeaheadService;
+
+    @GetMapping("/customers")
+    public List<LookupOption> customers(@RequestParam("q") String term,
+            @RequestParam(required = false) Integer limit) {
+        return typeaheadService.customers(term, limit);
+    }
+
+    @GetMapping("/contacts")
+    public List<LookupOption> contacts(@RequestParam("q") String term,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) Integer limit) {
+        return typeaheadService.contacts(term, customerId, limit);
+    }
+
+    @GetMapping("/products")
+    public List<LookupOption> products(@RequestParam("q") String term,
+            @RequestParam(required = false) Integer limit) {
+        return typeaheadService.products(term, limit);
+    }
+}
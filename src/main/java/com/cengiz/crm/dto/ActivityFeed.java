@@ -0,0 +1,33 @@
+package com.cengiz.crm.dto;
+
+import com.cengiz.crm.repository.projection.ActivityFeedItem;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Activity Feed
+ * One page of an activity feed plus the cursor that loads the next page ("load more")
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityFeed implements Serializable {
+
+    private List<ActivityFeedItem> items = new ArrayList<>();
+
+    /**
+     * Cursor of the next page, null when there are no more items
+     */
+    private String nextCursor;
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
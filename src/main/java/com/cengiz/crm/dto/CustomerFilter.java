@@ -0,0 +1,34 @@
+package com.cengiz.crm.dto;
+
+import com.cengiz.crm.enums.CustomerStatus;
+import com.cengiz.crm.enums.CustomerType;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Customer Filter
+ * Optional criteria of the customer list; unset fields do not filter
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class CustomerFilter {
+
+    /**
+     * Matched against company name, email and city
+     */
+    private String search;
+
+    private CustomerStatus status;
+
+    private CustomerType customerType;
+
+    public boolean hasSearch() {
+        return search != null && !search.isBlank();
+    }
+
+    public boolean isEmpty() {
+        return !hasSearch() && status == null && customerType == null;
+    }
+}
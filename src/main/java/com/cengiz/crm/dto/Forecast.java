@@ -0,0 +1,45 @@
+package com.cengiz.crm.dto;
+
+import com.cengiz.crm.enums.ForecastPeriod;
+import com.cengiz.crm.repository.projection.ForecastBucket;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Revenue Forecast
+ * Open pipeline bucketed by the period of the expected close date
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class Forecast {
+
+    private ForecastPeriod period;
+
+    /**
+     * First day of the first period (inclusive)
+     */
+    private LocalDate from;
+
+    /**
+     * First day after the last period (exclusive)
+     */
+    private LocalDate to;
+
+    /**
+     * One row per period, owner and stage; combinations without opportunities are omitted
+     */
+    private List<ForecastBucket> buckets = new ArrayList<>();
+
+    /**
+     * One row per period in the range, including empty periods; owner and stage are null
+     */
+    private List<ForecastBucket> periodTotals = new ArrayList<>();
+}
@@ -0,0 +1,28 @@
+package com.cengiz.crm.dto;
+
+import com.cengiz.crm.enums.SearchEntityType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Global Search Hit
+ * One result of the cross-entity search box; results of all types share one relevance scale
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GlobalSearchHit {
+
+    private SearchEntityType type;
+
+    private Long id;
+
+    private String title;
+
+    private String subtitle;
+
+    private float score;
+}
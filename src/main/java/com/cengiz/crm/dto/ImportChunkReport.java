@@ -0,0 +1,46 @@
+package com.cengiz.crm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Import Chunk Report
+ * Outcome of one chunk of a bulk import; each chunk is committed or rolled back on its own
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportChunkReport {
+
+    private int chunk;
+
+    private long firstLine;
+
+    private long lastLine;
+
+    private int imported;
+
+    private int duplicates;
+
+    private int invalid;
+
+    /**
+     * Database error that rolled the chunk back, null if it was committed
+     */
+    private String error;
+
+    /**
+     * Rejected and skipped records; capped per job by crm.import.max-reported-errors
+     */
+    private List<ImportRowError> rowErrors = new ArrayList<>();
+
+    public boolean isCommitted() {
+        return error == null;
+    }
+}
@@ -0,0 +1,62 @@
+package com.cengiz.crm.dto;
+
+import com.cengiz.crm.enums.ImportStatus;
+import com.cengiz.crm.enums.ImportType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Import Progress
+ * Snapshot of a bulk import job as returned to polling clients
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportProgress {
+
+    private String jobId;
+
+    private ImportType type;
+
+    private ImportStatus status;
+
+    private String filename;
+
+    private String submittedBy;
+
+    private LocalDateTime submittedAt;
+
+    private LocalDateTime finishedAt;
+
+    /**
+     * Share of the file read so far, 0-100
+     */
+    private int percent;
+
+    private long rowsRead;
+
+    private long imported;
+
+    private long duplicates;
+
+    private long invalid;
+
+    /**
+     * Valid rows lost because their chunk was rolled back
+     */
+    private long failed;
+
+    /**
+     * Reason the whole job failed, null otherwise
+     */
+    private String error;
+
+    private List<ImportChunkReport> chunks = new ArrayList<>();
+}
@@ -0,0 +1,24 @@
+package com.cengiz.crm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Import Row Error
+ * A CSV record that was not imported and why
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowError {
+
+    /**
+     * Line of the CSV file on which the record starts
+     */
+    private long line;
+
+    private String message;
+}
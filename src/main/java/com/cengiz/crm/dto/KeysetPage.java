@@ -0,0 +1,40 @@
+package com.cengiz.crm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset Page
+ * One page of a keyset-paginated list, the cursor of the next page and a cheap row count
+ *
+ * @param <T> row type
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPage<T> {
+
+    private List<T> items = new ArrayList<>();
+
+    /**
+     * Cursor of the next page, null on the last page
+     */
+    private String nextCursor;
+
+    /**
+     * Number of matching rows; a planner estimate or a lower bound unless {@link #isTotalExact()}
+     */
+    private long total;
+
+    private boolean totalExact;
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,40 @@
+package com.cengiz.crm.dto;
+
+import com.cengiz.crm.enums.LeadSource;
+import com.cengiz.crm.enums.LeadStatus;
+import com.cengiz.crm.repository.projection.FacetCount;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lead Facets
+ * Number of inbox leads per status, source, assignee and conversion flag; each dimension is counted under the other dimensions' filters only
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class LeadFacets {
+
+    private Map<LeadStatus, Long> statusCounts = new EnumMap<>(LeadStatus.class);
+
+    private Map<LeadSource, Long> sourceCounts = new EnumMap<>(LeadSource.class);
+
+    /**
+     * Per assignee, busiest first; value is the user id, null for unassigned leads
+     */
+    private List<FacetCount> assigneeCounts = new ArrayList<>();
+
+    private long convertedCount;
+
+    private long openCount;
+
+    public long getTotal() {
+        return convertedCount + openCount;
+    }
+}
@@ -0,0 +1,29 @@
+package com.cengiz.crm.dto;
+
+import com.cengiz.crm.enums.LeadSource;
+import com.cengiz.crm.enums.LeadStatus;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Lead Filter
+ * Optional criteria of the lead inbox; unset fields do not filter
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class LeadFilter {
+
+    private LeadStatus status;
+
+    private LeadSource source;
+
+    private Long assignedToId;
+
+    private Boolean converted;
+
+    public boolean isEmpty() {
+        return status == null && source == null && assignedToId == null && converted == null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.cengiz.crm.dto;
+
+import com.cengiz.crm.repository.projection.StageSummary;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * User Dashboard
+ * Stats and pipeline of the records owned by one user, read from the user's rollup row
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDashboard {
+
+    private Map<String, Object> stats = new HashMap<>();
+
+    private List<StageSummary> pipelineSummary = new ArrayList<>();
+}
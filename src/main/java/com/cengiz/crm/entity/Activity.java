@@ -5,6 +5,8 @@ import com.cengiz.crm.enums.ActivityStatus;
 import com.cengiz.crm.enums.ActivityType;
 import com.cengiz.crm.enums.Priority;
 import lombok.*;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.SQLDelete;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
@@ -22,6 +24,9 @@ import java.time.LocalDateTime;
         @Index(name = "idx_activity_assigned", columnList = "assigned_to_id"),
         @Index(name = "idx_activity_due_date", columnList = "due_date")
 })
+@SQLDelete(sql = "UPDATE activities SET is_deleted = true, deleted_at = CURRENT_TIMESTAMP, version = version + 1 "
+        + "WHERE id = ? AND version = ?")
+@Filter(name = BaseEntity.LIVE_FILTER)
 @Getter
 @Setter
 @NoArgsConstructor
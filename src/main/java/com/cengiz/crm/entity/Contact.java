@@ -2,6 +2,8 @@ package com.cengiz.crm.entity;
 
 import com.cengiz.crm.entity.base.BaseEntity;
 import lombok.*;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.SQLDelete;
 
 import javax.persistence.*;
 import javax.validation.constraints.Email;
@@ -17,6 +19,9 @@ import javax.validation.constraints.Size;
         @Index(name = "idx_contact_email", columnList = "email"),
         @Index(name = "idx_contact_customer", columnList = "customer_id")
 })
+@SQLDelete(sql = "UPDATE contacts SET is_deleted = true, deleted_at = CURRENT_TIMESTAMP, version = version + 1 "
+        + "WHERE id = ? AND version = ?")
+@Filter(name = BaseEntity.LIVE_FILTER)
 @Getter
 @Setter
 @NoArgsConstructor
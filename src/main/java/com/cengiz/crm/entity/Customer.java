@@ -5,6 +5,8 @@ import com.cengiz.crm.enums.CustomerStatus;
 import com.cengiz.crm.enums.CustomerType;
 import com.cengiz.crm.enums.Industry;
 import lombok.*;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.SQLDelete;
 
 import javax.persistence.*;
 import javax.validation.constraints.Email;
@@ -22,10 +24,12 @@ import java.util.Set;
 @Entity
 @Table(name = "customers", indexes = {
         @Index(name = "idx_customer_email", columnList = "email"),
-        @Index(name = "idx_customer_company", columnList = "company_name"),
         @Index(name = "idx_customer_status", columnList = "status"),
         @Index(name = "idx_customer_type", columnList = "customer_type")
 })
+@SQLDelete(sql = "UPDATE customers SET is_deleted = true, deleted_at = CURRENT_TIMESTAMP, version = version + 1 "
+        + "WHERE id = ? AND version = ?")
+@Filter(name = BaseEntity.LIVE_FILTER)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -119,14 +123,17 @@ public class Customer extends BaseEntity {
     private String facebookUrl;
 
     // Relationships
+    @Filter(name = BaseEntity.LIVE_FILTER)
     @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private Set<Contact> contacts = new HashSet<>();
 
+    @Filter(name = BaseEntity.LIVE_FILTER)
     @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL)
     @Builder.Default
     private Set<Opportunity> opportunities = new HashSet<>();
 
+    @Filter(name = BaseEntity.LIVE_FILTER)
     @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL)
     @Builder.Default
     private Set<Activity> activities = new HashSet<>();
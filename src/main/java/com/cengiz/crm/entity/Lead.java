@@ -4,6 +4,8 @@ import com.cengiz.crm.entity.base.BaseEntity;
 import com.cengiz.crm.enums.LeadSource;
 import com.cengiz.crm.enums.LeadStatus;
 import lombok.*;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.SQLDelete;
 
 import javax.persistence.*;
 import javax.validation.constraints.Email;
@@ -23,6 +25,9 @@ import java.time.LocalDate;
         @Index(name = "idx_lead_source", columnList = "source"),
         @Index(name = "idx_lead_assigned", columnList = "assigned_to_id")
 })
+@SQLDelete(sql = "UPDATE leads SET is_deleted = true, deleted_at = CURRENT_TIMESTAMP, version = version + 1 "
+        + "WHERE id = ? AND version = ?")
+@Filter(name = BaseEntity.LIVE_FILTER)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -4,6 +4,8 @@ import com.cengiz.crm.entity.base.BaseEntity;
 import com.cengiz.crm.enums.OpportunityStage;
 import com.cengiz.crm.enums.OpportunityStatus;
 import lombok.*;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.SQLDelete;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
@@ -25,6 +27,9 @@ import java.util.Set;
         @Index(name = "idx_opportunity_status", columnList = "status"),
         @Index(name = "idx_opportunity_owner", columnList = "owner_id")
 })
+@SQLDelete(sql = "UPDATE opportunities SET is_deleted = true, deleted_at = CURRENT_TIMESTAMP, version = version + 1 "
+        + "WHERE id = ? AND version = ?")
+@Filter(name = BaseEntity.LIVE_FILTER)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -77,10 +82,12 @@ public class Opportunity extends BaseEntity {
     @Column(name = "tags", length = 500)
     private String tags;
 
+    @Filter(name = BaseEntity.LIVE_FILTER)
     @OneToMany(mappedBy = "opportunity", cascade = CascadeType.ALL)
     @Builder.Default
     private Set<OpportunityProduct> products = new HashSet<>();
 
+    @Filter(name = BaseEntity.LIVE_FILTER)
     @OneToMany(mappedBy = "opportunity", cascade = CascadeType.ALL)
     @Builder.Default
     private Set<Activity> activities = new HashSet<>();
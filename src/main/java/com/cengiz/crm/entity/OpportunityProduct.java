@@ -2,6 +2,8 @@ package com.cengiz.crm.entity;
 
 import com.cengiz.crm.entity.base.BaseEntity;
 import lombok.*;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.SQLDelete;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
@@ -16,6 +18,9 @@ import java.math.BigDecimal;
         @Index(name = "idx_opp_product_opportunity", columnList = "opportunity_id"),
         @Index(name = "idx_opp_product_product", columnList = "product_id")
 })
+@SQLDelete(sql = "UPDATE opportunity_products SET is_deleted = true, deleted_at = CURRENT_TIMESTAMP, version = version + 1 "
+        + "WHERE id = ? AND version = ?")
+@Filter(name = BaseEntity.LIVE_FILTER)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -2,6 +2,10 @@ package com.cengiz.crm.entity;
 
 import com.cengiz.crm.entity.base.BaseEntity;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.SQLDelete;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
@@ -13,6 +17,11 @@ import javax.validation.constraints.Size;
  */
 @Entity
 @Table(name = "permissions")
+@SQLDelete(sql = "UPDATE permissions SET is_deleted = true, deleted_at = CURRENT_TIMESTAMP, version = version + 1 "
+        + "WHERE id = ? AND version = ?")
+@Filter(name = BaseEntity.LIVE_FILTER)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @NoArgsConstructor
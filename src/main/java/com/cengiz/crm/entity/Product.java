@@ -2,6 +2,10 @@ package com.cengiz.crm.entity;
 
 import com.cengiz.crm.entity.base.BaseEntity;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.SQLDelete;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
@@ -21,6 +25,11 @@ import java.math.RoundingMode;
         @Index(name = "idx_product_code", columnList = "product_code"),
         @Index(name = "idx_product_active", columnList = "is_active")
 })
+@SQLDelete(sql = "UPDATE products SET is_deleted = true, deleted_at = CURRENT_TIMESTAMP, version = version + 1 "
+        + "WHERE id = ? AND version = ?")
+@Filter(name = BaseEntity.LIVE_FILTER)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -35,7 +44,7 @@ public class Product extends BaseEntity {
 
     @NotBlank(message = "Ürün kodu gereklidir")
     @Size(max = 50)
-    @Column(name = "product_code", nullable = false, unique = true, length = 50)
+    @Column(name = "product_code", nullable = false, length = 50)
     private String productCode;
 
     @Column(name = "description", columnDefinition = "TEXT")
@@ -4,6 +4,9 @@ import com.cengiz.crm.entity.base.BaseEntity;
 import com.cengiz.crm.enums.UserRole;
 import com.cengiz.crm.enums.UserStatus;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.SQLDelete;
 
 import javax.persistence.*;
 import javax.validation.constraints.Email;
@@ -22,6 +25,9 @@ import java.util.Set;
         @Index(name = "idx_user_email", columnList = "email"),
         @Index(name = "idx_user_status", columnList = "status")
 })
+@SQLDelete(sql = "UPDATE users SET is_deleted = true, deleted_at = CURRENT_TIMESTAMP, version = version + 1 "
+        + "WHERE id = ? AND version = ?")
+@Filter(name = BaseEntity.LIVE_FILTER)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -41,7 +47,7 @@ public class User extends BaseEntity {
 
     @NotBlank(message = "Email is required")
     @Email(message = "Invalid email format")
-    @Column(name = "email", nullable = false, unique = true, length = 100)
+    @Column(name = "email", nullable = false, length = 100)
     private String email;
 
     @NotBlank(message = "Password is required")
@@ -92,15 +98,22 @@ public class User extends BaseEntity {
     @Builder.Default
     private Boolean mustChangePassword = false;
 
+    /**
+     * Lazy, but initialized for up to 50 users per query when several loaded users touch it
+     */
+    @Filter(name = BaseEntity.LIVE_FILTER)
+    @BatchSize(size = 50)
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "user_permissions", joinColumns = @JoinColumn(name = "user_id"), inverseJoinColumns = @JoinColumn(name = "permission_id"))
     @Builder.Default
     private Set<Permission> permissions = new HashSet<>();
 
+    @Filter(name = BaseEntity.LIVE_FILTER)
     @OneToMany(mappedBy = "assignedTo", fetch = FetchType.LAZY)
     @Builder.Default
     private Set<Lead> assignedLeads = new HashSet<>();
 
+    @Filter(name = BaseEntity.LIVE_FILTER)
     @OneToMany(mappedBy = "assignedTo", fetch = FetchType.LAZY)
     @Builder.Default
     private Set<Activity> assignedActivities = new HashSet<>();
@@ -0,0 +1,36 @@
+package com.cengiz.crm.entity;
+
+import com.cengiz.crm.entity.converter.CounterMapConverter;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * User Dashboard Rollup Entity
+ * Precomputed dashboard counters of the records a user owns (customers as account manager,
+ * leads and activities as assignee, opportunities as owner), keyed like the global dashboard counters.
+ * Derived data: rows are rebuilt from the source tables and never edited directly.
+ */
+@Entity
+@Table(name = "user_dashboard_rollups")
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserDashboardRollup {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Convert(converter = CounterMapConverter.class)
+    @Column(name = "counters", nullable = false, columnDefinition = "TEXT")
+    private Map<String, Long> counters = new HashMap<>();
+
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+}
@@ -2,6 +2,8 @@ package com.cengiz.crm.entity.base;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.GenericGenerator;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
@@ -17,13 +19,23 @@ import java.time.LocalDateTime;
  * All entities should extend this class to get automatic audit tracking
  */
 @MappedSuperclass
+@FilterDef(name = BaseEntity.LIVE_FILTER, defaultCondition = "is_deleted = false")
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
 public abstract class BaseEntity implements Serializable {
 
+    /**
+     * Hibernate filter hiding soft-deleted rows from JPQL queries and collections.
+     * It is enabled on every EntityManager (SoftDeleteConfig); loads by id and many-to-one
+     * associations still see deleted rows, so references to them keep resolving.
+     * Native queries must filter on is_deleted themselves.
+     */
+    public static final String LIVE_FILTER = "liveRows";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "table_sequence")
+    @GenericGenerator(name = "table_sequence", strategy = "com.cengiz.crm.entity.base.TableSequenceGenerator")
     private Long id;
 
     @CreatedDate
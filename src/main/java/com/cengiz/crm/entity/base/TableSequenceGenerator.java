@@ -0,0 +1,38 @@
+package com.cengiz.crm.entity.base;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Sequence id generator for {@link BaseEntity}
+ * Each table draws its ids from its own {@code <table>_id_seq} (the sequence created by its BIGSERIAL
+ * column), with the pooled-lo optimizer: one nextval reserves a block of ids, so Hibernate knows
+ * ids before flushing and can batch INSERTs. Plain SQL inserts keep using the column default
+ * and take a whole block each, so both never collide.
+ * <p>
+ * The block size comes from the {@value #INCREMENT_SIZE_SETTING} Hibernate setting and must match
+ * the sequences' INCREMENT BY (see V11__sequence_id_generation.sql).
+ */
+public class TableSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String INCREMENT_SIZE_SETTING = "crm.id.increment_size";
+    public static final int DEFAULT_INCREMENT_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        int incrementSize = ConfigurationHelper.getInt(INCREMENT_SIZE_SETTING,
+                serviceRegistry.getService(ConfigurationService.class).getSettings(), DEFAULT_INCREMENT_SIZE);
+        params.setProperty(SEQUENCE_PARAM, params.getProperty(PersistentIdentifierGenerator.TABLE) + "_id_seq");
+        params.setProperty(INCREMENT_PARAM, String.valueOf(incrementSize));
+        params.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, params, serviceRegistry);
+    }
+}
@@ -0,0 +1,42 @@
+package com.cengiz.crm.entity.converter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stores a counter map as a JSON object in a text column
+ */
+@Converter
+public class CounterMapConverter implements AttributeConverter<Map<String, Long>, String> {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Long>> COUNTER_MAP = new TypeReference<Map<String, Long>>() {
+    };
+
+    @Override
+    public String convertToDatabaseColumn(Map<String, Long> counters) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(counters != null ? counters : new HashMap<>());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Counter map could not be serialized", e);
+        }
+    }
+
+    @Override
+    public Map<String, Long> convertToEntityAttribute(String json) {
+        if (json == null || json.isEmpty()) {
+            return new HashMap<>();
+        }
+        try {
+            return OBJECT_MAPPER.readValue(json, COUNTER_MAP);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Counter map could not be deserialized", e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.cengiz.crm.enums;
+
+/**
+ * Sort orders of the customer list; every order ends with the id as tie-breaker
+ */
+public enum CustomerSort {
+    NAME_ASC("company_name", false),
+    NAME_DESC("company_name", true),
+    NEWEST("created_at", true),
+    OLDEST("created_at", false);
+
+    private final String column;
+    private final boolean descending;
+
+    CustomerSort(String column, boolean descending) {
+        this.column = column;
+        this.descending = descending;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+}
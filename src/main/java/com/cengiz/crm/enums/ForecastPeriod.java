@@ -0,0 +1,35 @@
+package com.cengiz.crm.enums;
+
+import java.time.LocalDate;
+
+public enum ForecastPeriod {
+    MONTH("month", 1),
+    QUARTER("quarter", 3);
+
+    private final String truncUnit;
+    private final int months;
+
+    ForecastPeriod(String truncUnit, int months) {
+        this.truncUnit = truncUnit;
+        this.months = months;
+    }
+
+    /**
+     * Unit passed to PostgreSQL date_trunc
+     */
+    public String getTruncUnit() {
+        return truncUnit;
+    }
+
+    public int getMonths() {
+        return months;
+    }
+
+    /**
+     * First day of the period containing the date
+     */
+    public LocalDate startOf(LocalDate date) {
+        int firstMonth = (date.getMonthValue() - 1) / months * months + 1;
+        return LocalDate.of(date.getYear(), firstMonth, 1);
+    }
+}
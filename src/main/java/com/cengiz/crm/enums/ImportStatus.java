@@ -0,0 +1,11 @@
+package com.cengiz.crm.enums;
+
+/**
+ * Lifecycle of a bulk import job
+ */
+public enum ImportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,9 @@
+package com.cengiz.crm.enums;
+
+/**
+ * Targets of the bulk CSV import
+ */
+public enum ImportType {
+    LEAD,
+    CUSTOMER
+}
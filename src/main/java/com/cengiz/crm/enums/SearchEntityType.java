@@ -0,0 +1,12 @@
+package com.cengiz.crm.enums;
+
+/**
+ * Entity types held in the global search index
+ */
+public enum SearchEntityType {
+    CUSTOMER,
+    CONTACT,
+    LEAD,
+    OPPORTUNITY,
+    PRODUCT
+}
@@ -0,0 +1,157 @@
+package com.cengiz.crm.importer;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * One importable CSV column: the header it is read from, the table column it is written to,
+ * and how a raw cell is validated and converted
+ */
+public final class ImportColumn {
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private final String property;
+    private final String column;
+    private final int sqlType;
+    private final boolean required;
+    private final Object defaultValue;
+    private final Function<String, Object> parser;
+
+    private ImportColumn(String property, String column, int sqlType, boolean required, Object defaultValue,
+            Function<String, Object> parser) {
+        this.property = property;
+        this.column = column;
+        this.sqlType = sqlType;
+        this.required = required;
+        this.defaultValue = defaultValue;
+        this.parser = parser;
+    }
+
+    public static ImportColumn text(String property, String column, int maxLength) {
+        return new ImportColumn(property, column, Types.VARCHAR, false, null, value -> maxLength(value, maxLength));
+    }
+
+    public static ImportColumn requiredText(String property, String column, int maxLength) {
+        return new ImportColumn(property, column, Types.VARCHAR, true, null, value -> maxLength(value, maxLength));
+    }
+
+    /**
+     * Lower-cased e-mail address; the column used for duplicate detection
+     */
+    public static ImportColumn email(String property, String column, int maxLength) {
+        return new ImportColumn(property, column, Types.VARCHAR, false, null, value -> {
+            String email = maxLength(value, maxLength).toLowerCase(Locale.ROOT);
+            if (!EMAIL.matcher(email).matches()) {
+                throw new IllegalArgumentException("is not a valid e-mail address");
+            }
+            return email;
+        });
+    }
+
+    /**
+     * Enum constant matched case-insensitively, spaces and dashes read as underscores; stored by name
+     *
+     * @param defaultValue used for empty cells; null makes the column optional
+     */
+    public static <E extends Enum<E>> ImportColumn enumValue(String property, String column, Class<E> type,
+            E defaultValue, boolean required) {
+        return new ImportColumn(property, column, Types.VARCHAR, required,
+                defaultValue != null ? defaultValue.name() : null, value -> {
+                    String name = value.trim().toUpperCase(Locale.ROOT).replace(' ', '_').replace('-', '_');
+                    try {
+                        return Enum.valueOf(type, name).name();
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("must be one of " + String.join(", ", names(type)));
+                    }
+                });
+    }
+
+    public static ImportColumn integer(String property, String column, int min, int max) {
+        return new ImportColumn(property, column, Types.INTEGER, false, null, value -> {
+            int number;
+            try {
+                number = Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("is not a whole number");
+            }
+            if (number < min || number > max) {
+                throw new IllegalArgumentException("must be between " + min + " and " + max);
+            }
+            return number;
+        });
+    }
+
+    /**
+     * Non-negative amount that fits DECIMAL(15,2); a decimal comma is accepted
+     */
+    public static ImportColumn amount(String property, String column) {
+        return new ImportColumn(property, column, Types.NUMERIC, false, null, value -> {
+            BigDecimal amount;
+            try {
+                amount = new BigDecimal(value.trim().replace(',', '.'));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("is not a number");
+            }
+            if (amount.signum() < 0 || amount.scale() > 2 || amount.precision() - amount.scale() > 13) {
+                throw new IllegalArgumentException("must be a positive amount with at most 2 decimals");
+            }
+            return amount;
+        });
+    }
+
+    /**
+     * Validated and converted cell value
+     *
+     * @throws IllegalArgumentException with a message describing the problem
+     */
+    public Object parse(String raw) {
+        if (raw == null || raw.isBlank()) {
+            if (required && defaultValue == null) {
+                throw new IllegalArgumentException("is required");
+            }
+            return defaultValue;
+        }
+        return parser.apply(raw);
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public int getSqlType() {
+        return sqlType;
+    }
+
+    public boolean isRequired() {
+        return required;
+    }
+
+    public boolean hasDefault() {
+        return defaultValue != null;
+    }
+
+    private static String maxLength(String value, int maxLength) {
+        String trimmed = value.trim();
+        if (trimmed.length() > maxLength) {
+            throw new IllegalArgumentException("is longer than " + maxLength + " characters");
+        }
+        return trimmed;
+    }
+
+    private static <E extends Enum<E>> String[] names(Class<E> type) {
+        E[] constants = type.getEnumConstants();
+        String[] names = new String[constants.length];
+        for (int i = 0; i < constants.length; i++) {
+            names[i] = constants[i].name();
+        }
+        return names;
+    }
+}
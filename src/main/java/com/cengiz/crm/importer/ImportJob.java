@@ -0,0 +1,114 @@
+package com.cengiz.crm.importer;
+
+import com.cengiz.crm.dto.ImportChunkReport;
+import com.cengiz.crm.dto.ImportProgress;
+import com.cengiz.crm.enums.ImportStatus;
+import com.cengiz.crm.enums.ImportType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * State of one bulk import
+ * Written only by the import thread and read by polling requests, hence the volatile fields.
+ */
+public final class ImportJob {
+
+    private final String id = UUID.randomUUID().toString();
+    private final ImportType type;
+    private final String filename;
+    private final String submittedBy;
+    private final long fileSize;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final List<ImportChunkReport> chunks = new CopyOnWriteArrayList<>();
+
+    private volatile ImportStatus status = ImportStatus.QUEUED;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+    private volatile long bytesRead;
+    private volatile long rowsRead;
+    private volatile long imported;
+    private volatile long duplicates;
+    private volatile long invalid;
+    private volatile long failed;
+    private volatile int reportedErrors;
+
+    public ImportJob(ImportType type, String filename, String submittedBy, long fileSize) {
+        this.type = type;
+        this.filename = filename;
+        this.submittedBy = submittedBy;
+        this.fileSize = fileSize;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public ImportType getType() {
+        return type;
+    }
+
+    public String getSubmittedBy() {
+        return submittedBy;
+    }
+
+    public ImportStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public int getReportedErrors() {
+        return reportedErrors;
+    }
+
+    public void start() {
+        status = ImportStatus.RUNNING;
+    }
+
+    public void complete() {
+        bytesRead = fileSize;
+        finishedAt = LocalDateTime.now();
+        status = ImportStatus.COMPLETED;
+    }
+
+    public void fail(String message) {
+        error = message;
+        finishedAt = LocalDateTime.now();
+        status = ImportStatus.FAILED;
+    }
+
+    public void setBytesRead(long bytesRead) {
+        this.bytesRead = bytesRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public void addChunk(ImportChunkReport report, int validRows) {
+        chunks.add(report);
+        imported += report.getImported();
+        duplicates += report.getDuplicates();
+        invalid += report.getInvalid();
+        if (!report.isCommitted()) {
+            failed += validRows;
+        }
+        reportedErrors += report.getRowErrors().size();
+    }
+
+    public ImportProgress toProgress() {
+        int percent = fileSize > 0 ? (int) Math.min(100, bytesRead * 100 / fileSize) : 0;
+        return new ImportProgress(id, type, status, filename, submittedBy, submittedAt, finishedAt, percent,
+                rowsRead, imported, duplicates, invalid, failed, error, new ArrayList<>(chunks));
+    }
+}
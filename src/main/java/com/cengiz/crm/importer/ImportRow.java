@@ -0,0 +1,53 @@
+package com.cengiz.crm.importer;
+
+/**
+ * One CSV record after validation: the converted column values, or the reason it was rejected
+ */
+public final class ImportRow {
+
+    private final long line;
+    private final Object[] values;
+    private final String email;
+    private final String error;
+
+    private ImportRow(long line, Object[] values, String email, String error) {
+        this.line = line;
+        this.values = values;
+        this.email = email;
+        this.error = error;
+    }
+
+    static ImportRow valid(long line, Object[] values, String email) {
+        return new ImportRow(line, values, email, null);
+    }
+
+    static ImportRow invalid(long line, String error) {
+        return new ImportRow(line, null, null, error);
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    /**
+     * Values in the order of {@link ImportSchema#getColumns()}
+     */
+    public Object[] getValues() {
+        return values;
+    }
+
+    /**
+     * Normalized e-mail address, null if the row has none
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
@@ -0,0 +1,182 @@
+package com.cengiz.crm.importer;
+
+import com.cengiz.crm.enums.CustomerStatus;
+import com.cengiz.crm.enums.CustomerType;
+import com.cengiz.crm.enums.ImportType;
+import com.cengiz.crm.enums.Industry;
+import com.cengiz.crm.enums.LeadSource;
+import com.cengiz.crm.enums.LeadStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Table and columns a bulk import writes to
+ * Headers are matched to columns ignoring case, spaces, dashes and underscores, so both the
+ * export headers ("companyName") and spreadsheet style headers ("Company Name") are accepted;
+ * unknown headers are ignored. Column sizes mirror the table definitions in V1__initial_schema.sql.
+ */
+public final class ImportSchema {
+
+    public static final ImportSchema LEADS = new ImportSchema("leads", Map.of("is_converted", "false"), List.of(
+            ImportColumn.requiredText("firstName", "first_name", 50),
+            ImportColumn.requiredText("lastName", "last_name", 50),
+            ImportColumn.text("companyName", "company_name", 200),
+            ImportColumn.text("jobTitle", "job_title", 100),
+            ImportColumn.email("email", "email", 100),
+            ImportColumn.text("phone", "phone", 20),
+            ImportColumn.text("mobile", "mobile", 20),
+            ImportColumn.text("website", "website", 200),
+            ImportColumn.text("address", "address", 500),
+            ImportColumn.text("city", "city", 100),
+            ImportColumn.text("state", "state", 100),
+            ImportColumn.text("postalCode", "postal_code", 20),
+            ImportColumn.text("country", "country", 100),
+            ImportColumn.enumValue("status", "status", LeadStatus.class, LeadStatus.NEW, true),
+            ImportColumn.enumValue("source", "source", LeadSource.class, null, false),
+            ImportColumn.integer("rating", "rating", 1, 5),
+            ImportColumn.amount("estimatedValue", "estimated_value"),
+            ImportColumn.text("notes", "notes", 4000),
+            ImportColumn.text("tags", "tags", 500),
+            ImportColumn.text("linkedinUrl", "linkedin_url", 200),
+            ImportColumn.text("twitterHandle", "twitter_handle", 100)));
+
+    public static final ImportSchema CUSTOMERS = new ImportSchema("customers", Map.of(), List.of(
+            ImportColumn.requiredText("companyName", "company_name", 200),
+            ImportColumn.enumValue("customerType", "customer_type", CustomerType.class, null, true),
+            ImportColumn.enumValue("industry", "industry", Industry.class, null, false),
+            ImportColumn.email("email", "email", 100),
+            ImportColumn.text("phone", "phone", 20),
+            ImportColumn.text("website", "website", 200),
+            ImportColumn.text("taxNumber", "tax_number", 50),
+            ImportColumn.text("taxOffice", "tax_office", 100),
+            ImportColumn.text("address", "address", 500),
+            ImportColumn.text("city", "city", 100),
+            ImportColumn.text("state", "state", 100),
+            ImportColumn.text("postalCode", "postal_code", 20),
+            ImportColumn.text("country", "country", 100),
+            ImportColumn.integer("employeeCount", "employee_count", 0, Integer.MAX_VALUE),
+            ImportColumn.amount("annualRevenue", "annual_revenue"),
+            ImportColumn.enumValue("status", "status", CustomerStatus.class, CustomerStatus.ACTIVE, true),
+            ImportColumn.integer("rating", "rating", 1, 5),
+            ImportColumn.text("notes", "notes", 4000),
+            ImportColumn.text("tags", "tags", 500),
+            ImportColumn.text("linkedinUrl", "linkedin_url", 200),
+            ImportColumn.text("twitterHandle", "twitter_handle", 100),
+            ImportColumn.text("facebookUrl", "facebook_url", 200)));
+
+    private final String table;
+    private final Map<String, String> constants;
+    private final List<ImportColumn> columns;
+    private final int emailIndex;
+
+    /**
+     * @param constants SQL literals written to every imported row, by column
+     */
+    private ImportSchema(String table, Map<String, String> constants, List<ImportColumn> columns) {
+        this.table = table;
+        this.constants = constants;
+        this.columns = columns;
+        int email = -1;
+        for (int i = 0; i < columns.size(); i++) {
+            if ("email".equals(columns.get(i).getColumn())) {
+                email = i;
+            }
+        }
+        this.emailIndex = email;
+    }
+
+    public static ImportSchema of(ImportType type) {
+        return type == ImportType.LEAD ? LEADS : CUSTOMERS;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public List<ImportColumn> getColumns() {
+        return columns;
+    }
+
+    /**
+     * INSERT of one row: the schema columns followed by created_at and created_by as parameters
+     */
+    public String insertSql() {
+        StringBuilder names = new StringBuilder(columns.stream()
+                .map(ImportColumn::getColumn)
+                .collect(Collectors.joining(", ")));
+        StringBuilder values = new StringBuilder(String.join(", ", Collections.nCopies(columns.size(), "?")));
+        names.append(", created_at, created_by, is_deleted, version");
+        values.append(", ?, ?, false, 0");
+        constants.forEach((column, literal) -> {
+            names.append(", ").append(column);
+            values.append(", ").append(literal);
+        });
+        return "INSERT INTO " + table + " (" + names + ") VALUES (" + values + ")";
+    }
+
+    /**
+     * Live rows of the table whose e-mail is one of the given (lower-cased) addresses
+     */
+    public String existingEmailsSql() {
+        return "SELECT DISTINCT LOWER(email) FROM " + table
+                + " WHERE LOWER(email) IN (:emails) AND is_deleted = false";
+    }
+
+    /**
+     * Position of every schema column in the CSV header, -1 for columns the file does not have
+     *
+     * @throws IllegalArgumentException if a required column is missing
+     */
+    public int[] resolveHeader(String[] header) {
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            positions.putIfAbsent(normalize(header[i]), i);
+        }
+        int[] resolved = new int[columns.size()];
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < columns.size(); i++) {
+            ImportColumn column = columns.get(i);
+            resolved[i] = positions.getOrDefault(normalize(column.getProperty()), -1);
+            if (resolved[i] < 0 && column.isRequired() && !column.hasDefault()) {
+                missing.add(column.getProperty());
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Missing required columns: " + String.join(", ", missing));
+        }
+        return resolved;
+    }
+
+    /**
+     * Validate and convert one record; never throws, problems are returned as an invalid row
+     */
+    public ImportRow validate(long line, String[] record, int[] positions) {
+        Object[] values = new Object[columns.size()];
+        List<String> errors = null;
+        for (int i = 0; i < values.length; i++) {
+            String raw = positions[i] >= 0 && positions[i] < record.length ? record[positions[i]] : null;
+            try {
+                values[i] = columns.get(i).parse(raw);
+            } catch (IllegalArgumentException e) {
+                if (errors == null) {
+                    errors = new ArrayList<>();
+                }
+                errors.add(columns.get(i).getProperty() + " " + e.getMessage());
+            }
+        }
+        if (errors != null) {
+            return ImportRow.invalid(line, String.join("; ", errors));
+        }
+        return ImportRow.valid(line, values, emailIndex >= 0 ? (String) values[emailIndex] : null);
+    }
+
+    private static String normalize(String header) {
+        return header.trim().toLowerCase(Locale.ROOT).replaceAll("[\\s_\\-]", "");
+    }
+}
@@ -0,0 +1,105 @@
+package com.cengiz.crm.listener;
+
+import com.cengiz.crm.entity.*;
+import com.cengiz.crm.service.DashboardCounterService;
+import com.cengiz.crm.util.AfterCommitBuffer;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.cengiz.crm.service.DashboardCounterKeys.*;
+
+/**
+ * Gösterge Paneli Sayaç Dinleyicisi
+ * Customer, Lead, Opportunity, Activity ve User değişikliklerinden sayaç deltaları üretir.
+ * Deltalar işlem boyunca biriktirilir ve yalnızca commit sonrası uygulanır.
+ *
+ * @author Cengiz
+ */
+@Component
+public class DashboardCounterListener implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener {
+
+    private final transient AfterCommitBuffer<Map<String, Long>> pendingDeltas;
+
+    public DashboardCounterListener(DashboardCounterService dashboardCounterService) {
+        this.pendingDeltas = new AfterCommitBuffer<>(HashMap::new, dashboardCounterService::applyDeltas);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        record(event.getEntity(), event.getPersister(), null, event.getState());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        record(event.getEntity(), event.getPersister(), event.getOldState(), event.getState());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        record(event.getEntity(), event.getPersister(), event.getDeletedState(), null);
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private void record(Object entity, EntityPersister persister, Object[] oldState, Object[] state) {
+        String counter = counterOf(entity);
+        if (counter == null) {
+            return;
+        }
+        Map<String, Long> before = contributions(counter, persister, oldState);
+        Map<String, Long> after = contributions(counter, persister, state);
+        if (before.equals(after)) {
+            return;
+        }
+        pendingDeltas.update(deltas -> {
+            after.forEach((key, value) -> deltas.merge(key, value, Long::sum));
+            before.forEach((key, value) -> deltas.merge(key, -value, Long::sum));
+        });
+    }
+
+    /**
+     * What one entity state adds to the counters; soft-deleted rows contribute nothing
+     */
+    private Map<String, Long> contributions(String counter, EntityPersister persister, Object[] state) {
+        Map<String, Long> contributions = new HashMap<>();
+        if (state == null || Boolean.TRUE.equals(EntityStates.get(persister, state, "isDeleted"))) {
+            return contributions;
+        }
+        Enum<?> status = (Enum<?>) EntityStates.get(persister, state, "status");
+        if (status == null) {
+            return contributions;
+        }
+        contributions.put(status(counter, status), 1L);
+
+        if (OPPORTUNITY.equals(counter)) {
+            contributions.put(value(counter, status), toCents((BigDecimal) EntityStates.get(persister, state, "value")));
+        } else if (LEAD.equals(counter) && Boolean.TRUE.equals(EntityStates.get(persister, state, "isConverted"))) {
+            contributions.put(LEAD_CONVERTED, 1L);
+        }
+        return contributions;
+    }
+
+    private String counterOf(Object entity) {
+        if (entity instanceof Customer) {
+            return CUSTOMER;
+        } else if (entity instanceof Lead) {
+            return LEAD;
+        } else if (entity instanceof Opportunity) {
+            return OPPORTUNITY;
+        } else if (entity instanceof Activity) {
+            return ACTIVITY;
+        } else if (entity instanceof User) {
+            return USER;
+        }
+        return null;
+    }
+}
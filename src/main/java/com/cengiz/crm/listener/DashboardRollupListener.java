@@ -0,0 +1,111 @@
+package com.cengiz.crm.listener;
+
+import com.cengiz.crm.entity.*;
+import com.cengiz.crm.service.UserDashboardRollupService;
+import com.cengiz.crm.util.AfterCommitBuffer;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Kullanıcı Özet Dinleyicisi
+ * Customer, Lead, Opportunity ve Activity değişikliklerinde etkilenen sahipleri (eski ve yeni)
+ * toplar; bu kullanıcıların özet satırları commit sonrası arka planda yeniden hesaplanır.
+ *
+ * @author Cengiz
+ */
+@Component
+public class DashboardRollupListener implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener {
+
+    private static final String[] CUSTOMER_PROPERTIES = {"accountManager", "status", "isDeleted"};
+    private static final String[] LEAD_PROPERTIES = {"assignedTo", "status", "isConverted", "isDeleted"};
+    private static final String[] OPPORTUNITY_PROPERTIES =
+            {"owner", "status", "stage", "value", "probability", "isDeleted"};
+    private static final String[] ACTIVITY_PROPERTIES = {"assignedTo", "status", "isDeleted"};
+
+    private final transient AfterCommitBuffer<Set<Long>> pendingUsers;
+
+    public DashboardRollupListener(UserDashboardRollupService rollupService) {
+        this.pendingUsers = new AfterCommitBuffer<>(HashSet::new, rollupService::refreshAsync);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        record(event.getEntity(), event.getPersister(), null, event.getState());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        record(event.getEntity(), event.getPersister(), event.getOldState(), event.getState());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        record(event.getEntity(), event.getPersister(), event.getDeletedState(), null);
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private void record(Object entity, EntityPersister persister, Object[] oldState, Object[] state) {
+        String[] properties = propertiesOf(entity);
+        if (properties == null || !anyChanged(persister, oldState, state, properties)) {
+            return;
+        }
+        String ownerProperty = properties[0];
+        Long before = userId(EntityStates.get(persister, oldState, ownerProperty));
+        Long after = userId(EntityStates.get(persister, state, ownerProperty));
+        if (before == null && after == null) {
+            return;
+        }
+        pendingUsers.update(users -> {
+            if (before != null) {
+                users.add(before);
+            }
+            if (after != null) {
+                users.add(after);
+            }
+        });
+    }
+
+    /**
+     * Inserts and deletes always count; updates only if a property feeding the rollup changed
+     */
+    private boolean anyChanged(EntityPersister persister, Object[] oldState, Object[] state, String[] properties) {
+        if (oldState == null || state == null) {
+            return true;
+        }
+        for (String property : properties) {
+            if (EntityStates.changed(persister, oldState, state, property)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rollup-relevant properties of the entity, owner association first; null for other entities
+     */
+    private String[] propertiesOf(Object entity) {
+        if (entity instanceof Customer) {
+            return CUSTOMER_PROPERTIES;
+        } else if (entity instanceof Lead) {
+            return LEAD_PROPERTIES;
+        } else if (entity instanceof Opportunity) {
+            return OPPORTUNITY_PROPERTIES;
+        } else if (entity instanceof Activity) {
+            return ACTIVITY_PROPERTIES;
+        }
+        return null;
+    }
+
+    private Long userId(Object owner) {
+        return owner instanceof User ? ((User) owner).getId() : null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.cengiz.crm.listener;
+
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Helpers for reading property values out of Hibernate event state arrays
+ */
+final class EntityStates {
+
+    private EntityStates() {
+    }
+
+    /**
+     * Value of the named property in a state array, or null if the state or property is absent
+     */
+    static Object get(EntityPersister persister, Object[] state, String property) {
+        if (state == null) {
+            return null;
+        }
+        Integer index = persister.getEntityMetamodel().getPropertyIndexOrNull(property);
+        return index == null ? null : state[index];
+    }
+
+    /**
+     * Whether the named property differs between the old and the new state
+     */
+    static boolean changed(EntityPersister persister, Object[] oldState, Object[] state, String property) {
+        Object before = get(persister, oldState, property);
+        Object after = get(persister, state, property);
+        return before == null ? after != null : !before.equals(after);
+    }
+}
@@ -0,0 +1,106 @@
+package com.cengiz.crm.listener;
+
+import com.cengiz.crm.entity.Permission;
+import com.cengiz.crm.entity.User;
+import com.cengiz.crm.security.PrincipalCache;
+import com.cengiz.crm.util.AfterCommitBuffer;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Giriş Önbelleği Dinleyicisi
+ * Kullanıcının e-posta, parola, rol, durum, kilit veya izin değişikliklerini toplar ve commit sonrası
+ * ilgili girişleri önbellekten düşürür. Bir iznin kodu değişir ya da izin silinirse tüm önbellek boşaltılır.
+ *
+ * @author Cengiz
+ */
+@Component
+public class PrincipalCacheListener implements PostUpdateEventListener, PostDeleteEventListener,
+        PostCollectionRecreateEventListener, PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+    private static final String[] USER_PROPERTIES =
+            {"email", "password", "role", "status", "accountLockedUntil", "isDeleted"};
+    private static final String[] PERMISSION_PROPERTIES = {"code", "isDeleted"};
+    private static final String PERMISSIONS_ROLE = User.class.getName() + ".permissions";
+
+    private final transient AfterCommitBuffer<Set<String>> pendingEvictions;
+
+    public PrincipalCacheListener(PrincipalCache principalCache) {
+        this.pendingEvictions = new AfterCommitBuffer<>(HashSet::new, principalCache::evict);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object entity = event.getEntity();
+        EntityPersister persister = event.getPersister();
+        if (entity instanceof User && anyChanged(persister, event.getOldState(), event.getState(), USER_PROPERTIES)) {
+            Object before = EntityStates.get(persister, event.getOldState(), "email");
+            String after = ((User) entity).getEmail();
+            pendingEvictions.update(emails -> {
+                if (before != null) {
+                    emails.add((String) before);
+                }
+                emails.add(after);
+            });
+        } else if (entity instanceof Permission
+                && anyChanged(persister, event.getOldState(), event.getState(), PERMISSION_PROPERTIES)) {
+            pendingEvictions.update(emails -> emails.add(PrincipalCache.ALL));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof User) {
+            String email = ((User) event.getEntity()).getEmail();
+            pendingEvictions.update(emails -> emails.add(email));
+        } else if (event.getEntity() instanceof Permission) {
+            pendingEvictions.update(emails -> emails.add(PrincipalCache.ALL));
+        }
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        recordPermissions(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        recordPermissions(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        recordPermissions(event);
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private void recordPermissions(AbstractCollectionEvent event) {
+        if (!PERMISSIONS_ROLE.equals(event.getCollection().getRole())
+                || !(event.getAffectedOwnerOrNull() instanceof User)) {
+            return;
+        }
+        String email = ((User) event.getAffectedOwnerOrNull()).getEmail();
+        pendingEvictions.update(emails -> emails.add(email));
+    }
+
+    private boolean anyChanged(EntityPersister persister, Object[] oldState, Object[] state, String[] properties) {
+        if (oldState == null) {
+            // Detached update without a snapshot: the changed columns are unknown
+            return true;
+        }
+        for (String property : properties) {
+            if (EntityStates.changed(persister, oldState, state, property)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,55 @@
+package com.cengiz.crm.listener;
+
+import com.cengiz.crm.cache.ProductCatalog;
+import com.cengiz.crm.entity.Product;
+import com.cengiz.crm.util.AfterCommitBuffer;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Ürün Kataloğu Dinleyicisi
+ * Ürün eklenme, güncellenme ve silinmelerini toplar; commit sonrası bellek içi kataloğu bir kez
+ * yeniden oluşturur ve diğer düğümlere de bildirir.
+ *
+ * @author Cengiz
+ */
+@Component
+public class ProductCatalogListener implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener {
+
+    private final transient AfterCommitBuffer<Set<Object>> changedProducts;
+
+    public ProductCatalogListener(ProductCatalog productCatalog) {
+        this.changedProducts = new AfterCommitBuffer<>(HashSet::new, ids -> productCatalog.productsChanged());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        record(event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        record(event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        record(event.getEntity(), event.getId());
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private void record(Object entity, Object id) {
+        if (entity instanceof Product) {
+            changedProducts.update(ids -> ids.add(id));
+        }
+    }
+}
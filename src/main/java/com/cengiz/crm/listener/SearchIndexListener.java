@@ -0,0 +1,68 @@
+package com.cengiz.crm.listener;
+
+import com.cengiz.crm.entity.base.BaseEntity;
+import com.cengiz.crm.enums.SearchEntityType;
+import com.cengiz.crm.search.IndexChange;
+import com.cengiz.crm.search.SearchDocument;
+import com.cengiz.crm.service.GlobalSearchService;
+import com.cengiz.crm.util.AfterCommitBuffer;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Genel Arama İndeksi Dinleyicisi
+ * Müşteri, kişi, potansiyel müşteri, fırsat ve ürün değişikliklerinin arama dokümanını
+ * olay anında (entity henüz bağlıyken) çıkarır; commit sonrası indeks iş parçacığına aktarır.
+ * Aynı transaction içinde aynı kayıt birden çok kez değişirse yalnızca son hali uygulanır.
+ *
+ * @author Cengiz
+ */
+@Component
+public class SearchIndexListener implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener {
+
+    private final transient AfterCommitBuffer<Map<String, IndexChange>> pendingChanges;
+
+    public SearchIndexListener(GlobalSearchService globalSearchService) {
+        this.pendingChanges = new AfterCommitBuffer<>(LinkedHashMap::new,
+                changes -> globalSearchService.enqueue(changes.values()));
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        record(event.getEntity(), false);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        record(event.getEntity(), false);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        record(event.getEntity(), true);
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private void record(Object entity, boolean deleted) {
+        SearchEntityType type = SearchDocument.typeOf(entity);
+        if (type == null) {
+            return;
+        }
+        BaseEntity baseEntity = (BaseEntity) entity;
+        String key = SearchDocument.key(type, baseEntity.getId());
+        IndexChange change = new IndexChange(key, deleted ? null : SearchDocument.of(baseEntity));
+        pendingChanges.update(changes -> {
+            changes.remove(key);
+            changes.put(key, change);
+        });
+    }
+}
@@ -0,0 +1,56 @@
+package com.cengiz.crm.listener;
+
+import com.cengiz.crm.cache.SecondLevelCacheInvalidator;
+import com.cengiz.crm.util.AfterCommitBuffer;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * İkinci Seviye Önbellek Dinleyicisi
+ * Önbelleğe alınan entity'lerin (izin, ürün) eklenme, güncellenme ve silinmelerini toplar;
+ * commit sonrası diğer düğümlere bildirir ki kendi yerel önbelleklerinden düşürsünler.
+ *
+ * @author Cengiz
+ */
+@Component
+public class SecondLevelCacheListener implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener {
+
+    private final transient AfterCommitBuffer<Set<String>> pendingKeys;
+
+    public SecondLevelCacheListener(SecondLevelCacheInvalidator invalidator) {
+        this.pendingKeys = new AfterCommitBuffer<>(LinkedHashSet::new, invalidator::broadcast);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        record(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        record(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        record(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private void record(EntityPersister persister, Object id) {
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+        String key = SecondLevelCacheInvalidator.key(persister.getEntityName(), id);
+        pendingKeys.update(keys -> keys.add(key));
+    }
+}
@@ -3,12 +3,19 @@ package com.cengiz.crm.repository;
 import com.cengiz.crm.entity.Activity;
 import com.cengiz.crm.enums.ActivityStatus;
 import com.cengiz.crm.enums.ActivityType;
+import com.cengiz.crm.repository.projection.ActivityFeedItem;
+import com.cengiz.crm.repository.projection.ActivityListItem;
+import com.cengiz.crm.repository.projection.AssigneeCount;
+import com.cengiz.crm.repository.projection.StatusCount;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -31,11 +38,143 @@ public interface ActivityRepository extends JpaRepository<Activity, Long> {
     List<Activity> findByDueDateBetween(@Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
 
-    @Query("SELECT a FROM Activity a WHERE a.isDeleted = false AND " +
+    @Query("SELECT new com.cengiz.crm.repository.projection.ActivityFeedItem(" +
+            "a.id, a.subject, a.activityType, a.status, a.priority, a.dueDate, a.createdAt) " +
+            "FROM Activity a WHERE a.isDeleted = false ORDER BY a.createdAt DESC, a.id DESC")
+    List<ActivityFeedItem> findRecentFeed(Pageable pageable);
+
+    @Query("SELECT new com.cengiz.crm.repository.projection.ActivityFeedItem(" +
+            "a.id, a.subject, a.activityType, a.status, a.priority, a.dueDate, a.createdAt) " +
+            "FROM Activity a WHERE a.isDeleted = false AND a.createdAt <= :createdAt AND " +
+            "(a.createdAt < :createdAt OR a.id < :id) ORDER BY a.createdAt DESC, a.id DESC")
+    List<ActivityFeedItem> findRecentFeedBefore(@Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT new com.cengiz.crm.repository.projection.ActivityFeedItem(" +
+            "a.id, a.subject, a.activityType, a.status, a.priority, a.dueDate, a.createdAt) " +
+            "FROM Activity a WHERE a.isDeleted = false AND " +
+            "a.dueDate BETWEEN :startDate AND :endDate ORDER BY a.dueDate ASC, a.id ASC")
+    List<ActivityFeedItem> findUpcomingFeed(@Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate, Pageable pageable);
+
+    @Query("SELECT new com.cengiz.crm.repository.projection.ActivityFeedItem(" +
+            "a.id, a.subject, a.activityType, a.status, a.priority, a.dueDate, a.createdAt) " +
+            "FROM Activity a WHERE a.isDeleted = false AND " +
+            "a.dueDate >= :dueDate AND a.dueDate <= :endDate AND " +
+            "(a.dueDate > :dueDate OR a.id > :id) ORDER BY a.dueDate ASC, a.id ASC")
+    List<ActivityFeedItem> findUpcomingFeedAfter(@Param("dueDate") LocalDateTime dueDate, @Param("id") Long id,
+            @Param("endDate") LocalDateTime endDate, Pageable pageable);
+
+    @Query("SELECT new com.cengiz.crm.repository.projection.ActivityFeedItem(" +
+            "a.id, a.subject, a.activityType, a.status, a.priority, a.dueDate, a.createdAt) " +
+            "FROM Activity a WHERE a.isDeleted = false AND a.assignedTo.id = :userId " +
+            "ORDER BY a.createdAt DESC, a.id DESC")
+    List<ActivityFeedItem> findRecentFeedForAssignee(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT new com.cengiz.crm.repository.projection.ActivityFeedItem(" +
+            "a.id, a.subject, a.activityType, a.status, a.priority, a.dueDate, a.createdAt) " +
+            "FROM Activity a WHERE a.isDeleted = false AND a.assignedTo.id = :userId AND " +
+            "a.createdAt <= :createdAt AND (a.createdAt < :createdAt OR a.id < :id) " +
+            "ORDER BY a.createdAt DESC, a.id DESC")
+    List<ActivityFeedItem> findRecentFeedForAssigneeBefore(@Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT new com.cengiz.crm.repository.projection.ActivityFeedItem(" +
+            "a.id, a.subject, a.activityType, a.status, a.priority, a.dueDate, a.createdAt) " +
+            "FROM Activity a WHERE a.isDeleted = false AND a.assignedTo.id = :userId AND " +
+            "a.dueDate BETWEEN :startDate AND :endDate ORDER BY a.dueDate ASC, a.id ASC")
+    List<ActivityFeedItem> findUpcomingFeedForAssignee(@Param("userId") Long userId,
+            @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate,
+            Pageable pageable);
+
+    @Query("SELECT new com.cengiz.crm.repository.projection.ActivityFeedItem(" +
+            "a.id, a.subject, a.activityType, a.status, a.priority, a.dueDate, a.createdAt) " +
+            "FROM Activity a WHERE a.isDeleted = false AND a.assignedTo.id = :userId AND " +
+            "a.dueDate >= :dueDate AND a.dueDate <= :endDate AND " +
+            "(a.dueDate > :dueDate OR a.id > :id) ORDER BY a.dueDate ASC, a.id ASC")
+    List<ActivityFeedItem> findUpcomingFeedForAssigneeAfter(@Param("userId") Long userId,
+            @Param("dueDate") LocalDateTime dueDate, @Param("id") Long id,
+            @Param("endDate") LocalDateTime endDate, Pageable pageable);
+
+    /**
+     * First page of overdue activities, oldest due date first; served by idx_activity_overdue
+     */
+    @Query("SELECT new com.cengiz.crm.repository.projection.ActivityFeedItem(" +
+            "a.id, a.subject, a.activityType, a.status, a.priority, a.dueDate, a.createdAt) " +
+            "FROM Activity a WHERE a.isDeleted = false AND " +
+            "a.dueDate < :now AND a.status NOT IN ('COMPLETED', 'CANCELLED') " +
+            "ORDER BY a.dueDate ASC, a.id ASC")
+    List<ActivityFeedItem> findOverdueFeed(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT new com.cengiz.crm.repository.projection.ActivityFeedItem(" +
+            "a.id, a.subject, a.activityType, a.status, a.priority, a.dueDate, a.createdAt) " +
+            "FROM Activity a WHERE a.isDeleted = false AND " +
+            "a.dueDate < :now AND a.status NOT IN ('COMPLETED', 'CANCELLED') AND " +
+            "a.dueDate >= :dueDate AND (a.dueDate > :dueDate OR a.id > :id) " +
+            "ORDER BY a.dueDate ASC, a.id ASC")
+    List<ActivityFeedItem> findOverdueFeedAfter(@Param("now") LocalDateTime now,
+            @Param("dueDate") LocalDateTime dueDate, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT COUNT(a) FROM Activity a WHERE a.isDeleted = false AND " +
+            "a.dueDate < :now AND a.status NOT IN ('COMPLETED', 'CANCELLED')")
+    long countOverdueActivities(@Param("now") LocalDateTime now);
+
+    @Query("SELECT COUNT(a) FROM Activity a WHERE a.isDeleted = false AND a.assignedTo.id = :userId AND " +
             "a.dueDate < :now AND a.status NOT IN ('COMPLETED', 'CANCELLED')")
-    List<Activity> findOverdueActivities(@Param("now") LocalDateTime now);
+    long countOverdueActivitiesForAssignee(@Param("now") LocalDateTime now, @Param("userId") Long userId);
+
+    @Query("SELECT u.id AS userId, CONCAT(u.firstName, ' ', u.lastName) AS fullName, COUNT(a) AS total " +
+            "FROM Activity a JOIN a.assignedTo u WHERE a.isDeleted = false AND " +
+            "a.dueDate < :now AND a.status NOT IN ('COMPLETED', 'CANCELLED') " +
+            "GROUP BY u.id, u.firstName, u.lastName ORDER BY COUNT(a) DESC")
+    List<AssigneeCount> countOverdueByAssignee(@Param("now") LocalDateTime now);
+
+    @Query("SELECT u.id AS userId, CONCAT(u.firstName, ' ', u.lastName) AS fullName, COUNT(a) AS total " +
+            "FROM Activity a JOIN a.assignedTo u WHERE a.isDeleted = false AND u.id = :userId AND " +
+            "a.dueDate < :now AND a.status NOT IN ('COMPLETED', 'CANCELLED') " +
+            "GROUP BY u.id, u.firstName, u.lastName")
+    List<AssigneeCount> countOverdueByAssignee(@Param("now") LocalDateTime now, @Param("userId") Long userId);
 
     @Query("SELECT COUNT(a) FROM Activity a WHERE a.isDeleted = false AND " +
             "a.assignedTo.id = :userId AND a.status = :status")
     long countByUserAndStatus(@Param("userId") Long userId, @Param("status") ActivityStatus status);
+
+    @Query("SELECT a.status AS status, COUNT(a) AS total FROM Activity a " +
+            "WHERE a.isDeleted = false GROUP BY a.status")
+    List<StatusCount<ActivityStatus>> countGroupedByStatus();
+
+    @Query("SELECT a.status AS status, COUNT(a) AS total FROM Activity a " +
+            "WHERE a.isDeleted = false AND a.assignedTo.id = :userId GROUP BY a.status")
+    List<StatusCount<ActivityStatus>> countGroupedByStatusForAssignee(@Param("userId") Long userId);
+
+    @Query("SELECT new com.cengiz.crm.repository.projection.ActivityListItem(" +
+            "a.id, a.subject, a.activityType, a.status, a.priority, a.dueDate, " +
+            "CONCAT(u.firstName, ' ', u.lastName), a.createdAt) " +
+            "FROM Activity a LEFT JOIN a.assignedTo u WHERE a.isDeleted = false " +
+            "ORDER BY a.createdAt DESC, a.id DESC")
+    List<ActivityListItem> findListItems(Pageable pageable);
+
+    @Query("SELECT new com.cengiz.crm.repository.projection.ActivityListItem(" +
+            "a.id, a.subject, a.activityType, a.status, a.priority, a.dueDate, " +
+            "CONCAT(u.firstName, ' ', u.lastName), a.createdAt) " +
+            "FROM Activity a LEFT JOIN a.assignedTo u WHERE a.isDeleted = false AND " +
+            "a.createdAt <= :createdAt AND (a.createdAt < :createdAt OR a.id < :id) " +
+            "ORDER BY a.createdAt DESC, a.id DESC")
+    List<ActivityListItem> findListItemsBefore(@Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT DISTINCT a.assignedTo.id FROM Activity a WHERE a.isDeleted = false AND " +
+            "(a.customer.id IN :customerIds OR " +
+            "a.opportunity.id IN (SELECT o.id FROM Opportunity o WHERE o.customer.id IN :customerIds))")
+    List<Long> findAssigneeIdsByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds);
+
+    /**
+     * Bulk counterpart of the customer's and its opportunities' activities cascade
+     */
+    @Modifying
+    @Query("UPDATE Activity a SET a.isDeleted = true, a.deletedAt = :deletedAt, a.deletedBy = :deletedBy, " +
+            "a.version = a.version + 1 WHERE a.isDeleted = false AND (a.customer.id IN :customerIds OR " +
+            "a.opportunity.id IN (SELECT o.id FROM Opportunity o WHERE o.customer.id IN :customerIds))")
+    int softDeleteByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds,
+            @Param("deletedAt") LocalDateTime deletedAt, @Param("deletedBy") String deletedBy);
 }
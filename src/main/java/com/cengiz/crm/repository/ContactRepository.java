@@ -1,11 +1,16 @@
 package com.cengiz.crm.repository;
 
 import com.cengiz.crm.entity.Contact;
+import com.cengiz.crm.repository.projection.LookupOption;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,13 +18,57 @@ public interface ContactRepository extends JpaRepository<Contact, Long> {
 
     List<Contact> findByIsDeletedFalse();
 
+    /**
+     * Next batch of live rows in id order, for streaming the table into the search index
+     */
+    List<Contact> findByIsDeletedFalseAndIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
     List<Contact> findByCustomerIdAndIsDeletedFalse(Long customerId);
 
     List<Contact> findByIsPrimaryAndIsDeletedFalse(Boolean isPrimary);
 
-    @Query("SELECT c FROM Contact c WHERE c.isDeleted = false AND " +
-            "(LOWER(c.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(c.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(c.email) LIKE LOWER(CONCAT('%', :search, '%')))")
-    List<Contact> searchContacts(@Param("search") String search);
+    /**
+     * Live contacts matching a prefix tsquery built by {@link com.cengiz.crm.util.FullTextQuery}, best match first.
+     * Served by the GIN index on search_vector instead of a sequential LIKE scan.
+     */
+    @Query(value = "SELECT c.* FROM contacts c WHERE c.is_deleted = false " +
+            "AND c.search_vector @@ to_tsquery('simple', :query) " +
+            "ORDER BY ts_rank(c.search_vector, to_tsquery('simple', :query)) DESC, c.id",
+            nativeQuery = true)
+    List<Contact> searchContacts(@Param("query") String query, Pageable pageable);
+
+    /**
+     * Typeahead lookup: live contacts whose full name or e-mail contains the ILIKE pattern, closest match first.
+     * Served by the contact trigram indexes.
+     */
+    @Query(value = "SELECT c.id AS id, c.first_name || ' ' || c.last_name AS label, c.email AS detail " +
+            "FROM contacts c WHERE c.is_deleted = false " +
+            "AND ((c.first_name || ' ' || c.last_name) ILIKE :pattern OR c.email ILIKE :pattern) " +
+            "ORDER BY similarity(c.first_name || ' ' || c.last_name, :term) DESC, c.id LIMIT :limit",
+            nativeQuery = true)
+    List<LookupOption> findTypeahead(@Param("pattern") String pattern, @Param("term") String term,
+            @Param("limit") int limit);
+
+    /**
+     * Typeahead lookup within one customer's contacts
+     */
+    @Query(value = "SELECT c.id AS id, c.first_name || ' ' || c.last_name AS label, c.email AS detail " +
+            "FROM contacts c WHERE c.is_deleted = false AND c.customer_id = :customerId " +
+            "AND ((c.first_name || ' ' || c.last_name) ILIKE :pattern OR c.email ILIKE :pattern) " +
+            "ORDER BY similarity(c.first_name || ' ' || c.last_name, :term) DESC, c.id LIMIT :limit",
+            nativeQuery = true)
+    List<LookupOption> findTypeaheadForCustomer(@Param("customerId") Long customerId,
+            @Param("pattern") String pattern, @Param("term") String term, @Param("limit") int limit);
+
+    @Query("SELECT c.id FROM Contact c WHERE c.customer.id IN :customerIds AND c.isDeleted = false")
+    List<Long> findIdsByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds);
+
+    /**
+     * Bulk counterpart of the customer's contacts cascade
+     */
+    @Modifying
+    @Query("UPDATE Contact c SET c.isDeleted = true, c.deletedAt = :deletedAt, c.deletedBy = :deletedBy, " +
+            "c.version = c.version + 1 WHERE c.customer.id IN :customerIds AND c.isDeleted = false")
+    int softDeleteByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds,
+            @Param("deletedAt") LocalDateTime deletedAt, @Param("deletedBy") String deletedBy);
 }
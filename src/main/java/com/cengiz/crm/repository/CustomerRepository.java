@@ -3,33 +3,97 @@ package com.cengiz.crm.repository;
 import com.cengiz.crm.entity.Customer;
 import com.cengiz.crm.enums.CustomerStatus;
 import com.cengiz.crm.enums.Industry;
+import com.cengiz.crm.repository.projection.LookupOption;
+import com.cengiz.crm.repository.projection.StatusCount;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+public interface CustomerRepository extends JpaRepository<Customer, Long>, CustomerRepositoryCustom {
 
     List<Customer> findByIsDeletedFalse();
 
+    /**
+     * Next batch of live rows in id order, for streaming the table into the search index
+     */
+    List<Customer> findByIsDeletedFalseAndIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    /**
+     * All live customers in id order, read lazily with a JDBC fetch size for exports.
+     * Must be consumed inside a read-only transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query("SELECT c FROM Customer c WHERE c.isDeleted = false ORDER BY c.id")
+    Stream<Customer> streamAllForExport();
+
     List<Customer> findByStatusAndIsDeletedFalse(CustomerStatus status);
 
     List<Customer> findByIndustryAndIsDeletedFalse(Industry industry);
 
     List<Customer> findByAccountManagerIdAndIsDeletedFalse(Long accountManagerId);
 
-    @Query("SELECT c FROM Customer c WHERE c.isDeleted = false AND " +
-            "(LOWER(c.companyName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(c.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(c.city) LIKE LOWER(CONCAT('%', :search, '%')))")
-    List<Customer> searchCustomers(@Param("search") String search);
+    /**
+     * Live customers matching a prefix tsquery built by {@link com.cengiz.crm.util.FullTextQuery}, best match first.
+     * Served by the GIN index on search_vector instead of a sequential LIKE scan.
+     */
+    @Query(value = "SELECT c.* FROM customers c WHERE c.is_deleted = false " +
+            "AND c.search_vector @@ to_tsquery('simple', :query) " +
+            "ORDER BY ts_rank(c.search_vector, to_tsquery('simple', :query)) DESC, c.id",
+            nativeQuery = true)
+    List<Customer> searchCustomers(@Param("query") String query, Pageable pageable);
 
     @Query("SELECT COUNT(c) FROM Customer c WHERE c.isDeleted = false AND c.status = :status")
     long countByStatus(@Param("status") CustomerStatus status);
 
+    @Query("SELECT c.status AS status, COUNT(c) AS total FROM Customer c " +
+            "WHERE c.isDeleted = false GROUP BY c.status")
+    List<StatusCount<CustomerStatus>> countGroupedByStatus();
+
+    @Query("SELECT c.status AS status, COUNT(c) AS total FROM Customer c " +
+            "WHERE c.isDeleted = false AND c.accountManager.id = :userId GROUP BY c.status")
+    List<StatusCount<CustomerStatus>> countGroupedByStatusForAccountManager(@Param("userId") Long userId);
+
     @Query("SELECT c FROM Customer c LEFT JOIN FETCH c.contacts WHERE c.id = :id AND c.isDeleted = false")
     Customer findByIdWithContacts(@Param("id") Long id);
+
+    /**
+     * Typeahead lookup: live customers whose company name contains the ILIKE pattern, closest match first.
+     * Served by the idx_customer_company_trgm trigram index.
+     */
+    @Query(value = "SELECT c.id AS id, c.company_name AS label, c.city AS detail FROM customers c " +
+            "WHERE c.is_deleted = false AND c.company_name ILIKE :pattern " +
+            "ORDER BY similarity(c.company_name, :term) DESC, c.company_name, c.id LIMIT :limit",
+            nativeQuery = true)
+    List<LookupOption> findTypeahead(@Param("pattern") String pattern, @Param("term") String term,
+            @Param("limit") int limit);
+
+    @Query("SELECT DISTINCT c.accountManager.id FROM Customer c " +
+            "WHERE c.id IN :ids AND c.isDeleted = false AND c.accountManager IS NOT NULL")
+    List<Long> findAccountManagerIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Soft-delete the given customers in one statement. Entity listeners do not see bulk updates,
+     * so the caller cascades to the children and refreshes the derived data itself.
+     *
+     * @return number of customers deleted
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Customer c SET c.isDeleted = true, c.deletedAt = :deletedAt, c.deletedBy = :deletedBy, " +
+            "c.version = c.version + 1 WHERE c.id IN :ids AND c.isDeleted = false")
+    int softDeleteAllById(@Param("ids") Collection<Long> ids, @Param("deletedAt") LocalDateTime deletedAt,
+            @Param("deletedBy") String deletedBy);
 }
@@ -0,0 +1,35 @@
+package com.cengiz.crm.repository;
+
+import com.cengiz.crm.dto.CustomerFilter;
+import com.cengiz.crm.enums.CustomerSort;
+import com.cengiz.crm.repository.projection.CustomerListItem;
+import com.cengiz.crm.util.SortKeyCursor;
+
+import java.util.List;
+
+/**
+ * Custom Customer queries for the paginated customer list
+ */
+public interface CustomerRepositoryCustom {
+
+    /**
+     * Live customers matching the filter in the given order, starting after the cursor.
+     * Pages are read with a keyset seek, so deep pages cost the same as the first one;
+     * only the columns rendered by the list are selected.
+     *
+     * @param after  sort key and id of the previous page's last row, or null for the first page
+     * @param limit  maximum number of rows
+     */
+    List<CustomerListItem> findPage(CustomerFilter filter, CustomerSort sort, SortKeyCursor after, int limit);
+
+    /**
+     * Number of live customers matching the filter, but counting at most {@code limit + 1} rows
+     */
+    long countUpTo(CustomerFilter filter, int limit);
+
+    /**
+     * PostgreSQL planner estimate of the customers table size (including soft-deleted rows),
+     * or a negative value if the table has not been analyzed yet
+     */
+    long estimateRowCount();
+}
@@ -0,0 +1,117 @@
+package com.cengiz.crm.repository;
+
+import com.cengiz.crm.dto.CustomerFilter;
+import com.cengiz.crm.enums.CustomerSort;
+import com.cengiz.crm.enums.CustomerStatus;
+import com.cengiz.crm.enums.CustomerType;
+import com.cengiz.crm.repository.projection.CustomerListItem;
+import com.cengiz.crm.util.FullTextQuery;
+import com.cengiz.crm.util.SortKeyCursor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of {@link CustomerRepositoryCustom}
+ * Native SQL, so the keyset seek and LIMIT map one-to-one onto the partial (sort column, id) indexes
+ */
+public class CustomerRepositoryImpl implements CustomerRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final String LIST_COLUMNS = "c.id, c.company_name, c.country, c.customer_type, c.email, c.phone, " +
+            "c.tax_number, c.status, c.created_at";
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<CustomerListItem> findPage(CustomerFilter filter, CustomerSort sort, SortKeyCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT " + LIST_COLUMNS + " FROM customers c WHERE c.is_deleted = false");
+        Map<String, Object> params = new LinkedHashMap<>();
+        appendFilter(sql, params, filter);
+
+        String column = "c." + sort.getColumn();
+        String direction = sort.isDescending() ? " DESC" : " ASC";
+        Object afterKey = after != null ? parseSortKey(sort, after.getSortKey()) : null;
+        if (afterKey != null) {
+            String seek = sort.isDescending() ? " < " : " > ";
+            sql.append(" AND (").append(column).append(seek).append(":afterKey OR (")
+                    .append(column).append(" = :afterKey AND c.id").append(seek).append(":afterId))");
+            params.put("afterKey", afterKey);
+            params.put("afterId", after.getId());
+        }
+        sql.append(" ORDER BY ").append(column).append(direction).append(", c.id").append(direction)
+                .append(" LIMIT :limit");
+        params.put("limit", limit);
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        params.forEach(query::setParameter);
+        List<CustomerListItem> items = new ArrayList<>();
+        for (Object[] row : (List<Object[]>) query.getResultList()) {
+            items.add(new CustomerListItem(((Number) row[0]).longValue(), (String) row[1], (String) row[2],
+                    row[3] != null ? CustomerType.valueOf((String) row[3]) : null, (String) row[4], (String) row[5],
+                    (String) row[6], row[7] != null ? CustomerStatus.valueOf((String) row[7]) : null,
+                    row[8] != null ? ((Timestamp) row[8]).toLocalDateTime() : null));
+        }
+        return items;
+    }
+
+    @Override
+    public long countUpTo(CustomerFilter filter, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM (SELECT 1 FROM customers c WHERE c.is_deleted = false");
+        Map<String, Object> params = new LinkedHashMap<>();
+        appendFilter(sql, params, filter);
+        sql.append(" LIMIT :limit) matching");
+        params.put("limit", limit + 1);
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        params.forEach(query::setParameter);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    @Override
+    public long estimateRowCount() {
+        Object estimate = entityManager.createNativeQuery(
+                "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = CAST('customers' AS regclass)")
+                .getSingleResult();
+        return ((Number) estimate).longValue();
+    }
+
+    private void appendFilter(StringBuilder sql, Map<String, Object> params, CustomerFilter filter) {
+        String search = filter.hasSearch() ? FullTextQuery.prefixQuery(filter.getSearch()) : null;
+        if (search != null) {
+            sql.append(" AND c.search_vector @@ to_tsquery('simple', :search)");
+            params.put("search", search);
+        }
+        if (filter.getStatus() != null) {
+            sql.append(" AND c.status = :status");
+            params.put("status", filter.getStatus().name());
+        }
+        if (filter.getCustomerType() != null) {
+            sql.append(" AND c.customer_type = :customerType");
+            params.put("customerType", filter.getCustomerType().name());
+        }
+    }
+
+    /**
+     * Sort key of a cursor as a bind value, or null if it does not fit the sort column (stale or tampered cursor)
+     */
+    private Object parseSortKey(CustomerSort sort, String sortKey) {
+        if (!"created_at".equals(sort.getColumn())) {
+            return sortKey;
+        }
+        try {
+            return Timestamp.valueOf(LocalDateTime.parse(sortKey));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
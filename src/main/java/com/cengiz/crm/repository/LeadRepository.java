@@ -2,34 +2,85 @@ package com.cengiz.crm.repository;
 
 import com.cengiz.crm.entity.Lead;
 import com.cengiz.crm.enums.LeadStatus;
+import com.cengiz.crm.repository.projection.LeadStatusCount;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface LeadRepository extends JpaRepository<Lead, Long> {
+public interface LeadRepository extends JpaRepository<Lead, Long>, LeadRepositoryCustom {
 
     List<Lead> findByIsDeletedFalse();
 
+    /**
+     * Next batch of live rows in id order, for streaming the table into the search index
+     */
+    List<Lead> findByIsDeletedFalseAndIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    /**
+     * All live leads in id order, read lazily with a JDBC fetch size for exports.
+     * Must be consumed inside a read-only transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query("SELECT l FROM Lead l WHERE l.isDeleted = false ORDER BY l.id")
+    Stream<Lead> streamAllForExport();
+
     List<Lead> findByStatusAndIsDeletedFalse(LeadStatus status);
 
     List<Lead> findByAssignedToIdAndIsDeletedFalse(Long assignedToId);
 
     List<Lead> findByIsConvertedAndIsDeletedFalse(Boolean isConverted);
 
-    @Query("SELECT l FROM Lead l WHERE l.isDeleted = false AND " +
-            "(LOWER(l.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(l.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(l.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(l.companyName) LIKE LOWER(CONCAT('%', :search, '%')))")
-    List<Lead> searchLeads(@Param("search") String search);
+    /**
+     * Live leads matching a prefix tsquery built by {@link com.cengiz.crm.util.FullTextQuery}, best match first.
+     * Served by the GIN index on search_vector instead of a sequential LIKE scan.
+     */
+    @Query(value = "SELECT l.* FROM leads l WHERE l.is_deleted = false " +
+            "AND l.search_vector @@ to_tsquery('simple', :query) " +
+            "ORDER BY ts_rank(l.search_vector, to_tsquery('simple', :query)) DESC, l.id",
+            nativeQuery = true)
+    List<Lead> searchLeads(@Param("query") String query, Pageable pageable);
 
     @Query("SELECT COUNT(l) FROM Lead l WHERE l.isDeleted = false AND l.status = :status")
     long countByStatus(@Param("status") LeadStatus status);
 
     @Query("SELECT COUNT(l) FROM Lead l WHERE l.isDeleted = false AND l.isConverted = true")
     long countConverted();
+
+    @Query("SELECT l.status AS status, l.isConverted AS converted, COUNT(l) AS total FROM Lead l " +
+            "WHERE l.isDeleted = false GROUP BY l.status, l.isConverted")
+    List<LeadStatusCount> countGroupedByStatus();
+
+    @Query("SELECT l.status AS status, l.isConverted AS converted, COUNT(l) AS total FROM Lead l " +
+            "WHERE l.isDeleted = false AND l.assignedTo.id = :userId GROUP BY l.status, l.isConverted")
+    List<LeadStatusCount> countGroupedByStatusForAssignee(@Param("userId") Long userId);
+
+    @Query("SELECT DISTINCT l.assignedTo.id FROM Lead l " +
+            "WHERE l.id IN :ids AND l.isDeleted = false AND l.assignedTo IS NOT NULL")
+    List<Long> findAssigneeIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Soft-delete the given leads in one statement. Entity listeners do not see bulk updates,
+     * so the caller refreshes the derived data itself.
+     *
+     * @return number of leads deleted
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Lead l SET l.isDeleted = true, l.deletedAt = :deletedAt, l.deletedBy = :deletedBy, " +
+            "l.version = l.version + 1 WHERE l.id IN :ids AND l.isDeleted = false")
+    int softDeleteAllById(@Param("ids") Collection<Long> ids, @Param("deletedAt") LocalDateTime deletedAt,
+            @Param("deletedBy") String deletedBy);
 }
@@ -0,0 +1,36 @@
+package com.cengiz.crm.repository;
+
+import com.cengiz.crm.dto.LeadFilter;
+import com.cengiz.crm.repository.projection.FacetCount;
+import com.cengiz.crm.repository.projection.LeadListItem;
+import com.cengiz.crm.util.KeysetCursor;
+
+import java.util.List;
+
+/**
+ * Custom Lead queries for the lead inbox
+ */
+public interface LeadRepositoryCustom {
+
+    /** Facet names returned by {@link #countFacets(LeadFilter)} */
+    String FACET_STATUS = "status";
+    String FACET_SOURCE = "source";
+    String FACET_ASSIGNEE = "assignee";
+    String FACET_CONVERTED = "converted";
+
+    /**
+     * Live leads matching the filter, newest first, starting after the cursor;
+     * only the columns rendered by the inbox are selected
+     *
+     * @param after  created_at and id of the previous page's last row, or null for the first page
+     * @param limit  maximum number of rows
+     */
+    List<LeadListItem> findInboxPage(LeadFilter filter, KeysetCursor after, int limit);
+
+    /**
+     * Counts of live leads per status, source, assignee and conversion flag, computed by a single
+     * GROUPING SETS scan. Each dimension is counted under the other dimensions' filters only, so the
+     * values of a filtered dimension remain selectable.
+     */
+    List<FacetCount> countFacets(LeadFilter filter);
+}
@@ -0,0 +1,160 @@
+package com.cengiz.crm.repository;
+
+import com.cengiz.crm.dto.LeadFilter;
+import com.cengiz.crm.enums.LeadSource;
+import com.cengiz.crm.enums.LeadStatus;
+import com.cengiz.crm.repository.projection.FacetCount;
+import com.cengiz.crm.repository.projection.LeadListItem;
+import com.cengiz.crm.util.KeysetCursor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of {@link LeadRepositoryCustom}
+ * Native SQL; each filter is an equality predicate on an indexed column (status, source, assigned_to_id)
+ * and is only appended when set, so the planner never sees "(:x IS NULL OR ...)" branches
+ */
+public class LeadRepositoryImpl implements LeadRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final List<String> FACETS = List.of(FACET_STATUS, FACET_SOURCE, FACET_ASSIGNEE, FACET_CONVERTED);
+
+    private static final String LIST_COLUMNS = "l.id, l.first_name, l.last_name, l.company_name, l.job_title, " +
+            "l.email, l.phone, l.source, l.status, l.created_at";
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<LeadListItem> findInboxPage(LeadFilter filter, KeysetCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT " + LIST_COLUMNS + " FROM leads l WHERE l.is_deleted = false");
+        Map<String, Object> params = new LinkedHashMap<>();
+        appendFilter(sql, params, filter);
+        if (after != null) {
+            sql.append(" AND (l.created_at < :afterCreatedAt OR (l.created_at = :afterCreatedAt AND l.id < :afterId))");
+            params.put("afterCreatedAt", after.getTimestamp());
+            params.put("afterId", after.getId());
+        }
+        sql.append(" ORDER BY l.created_at DESC, l.id DESC LIMIT :limit");
+        params.put("limit", limit);
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        params.forEach(query::setParameter);
+        List<LeadListItem> items = new ArrayList<>();
+        for (Object[] row : (List<Object[]>) query.getResultList()) {
+            items.add(new LeadListItem(((Number) row[0]).longValue(), (String) row[1], (String) row[2],
+                    (String) row[3], (String) row[4], (String) row[5], (String) row[6],
+                    row[7] != null ? LeadSource.valueOf((String) row[7]) : null,
+                    row[8] != null ? LeadStatus.valueOf((String) row[8]) : null,
+                    row[9] != null ? ((Timestamp) row[9]).toLocalDateTime() : null));
+        }
+        return items;
+    }
+
+    /**
+     * Each dimension is counted with only the other dimensions' filters applied, so a filtered dimension
+     * still lists all of its values: every grouping set reads its own conditional aggregate. The filters
+     * therefore cannot go into the WHERE clause and the query reads all live leads once.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<FacetCount> countFacets(LeadFilter filter) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        Map<String, String> predicates = filterPredicates(filter, params);
+        StringBuilder sql = new StringBuilder(
+                "SELECT GROUPING(l.status), GROUPING(l.source), GROUPING(l.assigned_to_id), " +
+                        "l.status, l.source, l.assigned_to_id, u.first_name, u.last_name, l.is_converted");
+        for (String facet : FACETS) {
+            sql.append(", ").append(countExcluding(predicates, facet));
+        }
+        sql.append(" FROM leads l LEFT JOIN users u ON u.id = l.assigned_to_id WHERE l.is_deleted = false" +
+                " GROUP BY GROUPING SETS ((l.status), (l.source), " +
+                "(l.assigned_to_id, u.first_name, u.last_name), (l.is_converted))");
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        params.forEach(query::setParameter);
+
+        List<FacetCount> facets = new ArrayList<>();
+        for (Object[] row : (List<Object[]>) query.getResultList()) {
+            if (isGroupedBy(row[0])) {
+                addFacet(facets, FACET_STATUS, asString(row[3]), null, row[9]);
+            } else if (isGroupedBy(row[1])) {
+                addFacet(facets, FACET_SOURCE, asString(row[4]), null, row[10]);
+            } else if (isGroupedBy(row[2])) {
+                String name = row[5] == null ? null : row[6] + " " + row[7];
+                addFacet(facets, FACET_ASSIGNEE, asString(row[5]), name, row[11]);
+            } else {
+                addFacet(facets, FACET_CONVERTED, asString(row[8]), null, row[12]);
+            }
+        }
+        return facets;
+    }
+
+    /**
+     * Values that no lead matches under the other dimensions' filters are left out
+     */
+    private void addFacet(List<FacetCount> facets, String facet, String value, String label, Object count) {
+        long total = ((Number) count).longValue();
+        if (total > 0) {
+            facets.add(new FacetCount(facet, value, label, total));
+        }
+    }
+
+    /**
+     * COUNT of the rows matching every filter except the given dimension's own
+     */
+    private String countExcluding(Map<String, String> predicates, String facet) {
+        String others = predicates.entrySet().stream()
+                .filter(predicate -> !predicate.getKey().equals(facet))
+                .map(Map.Entry::getValue)
+                .collect(Collectors.joining(" AND "));
+        return others.isEmpty() ? "COUNT(*)" : "COUNT(*) FILTER (WHERE " + others + ")";
+    }
+
+    private void appendFilter(StringBuilder sql, Map<String, Object> params, LeadFilter filter) {
+        filterPredicates(filter, params).values().forEach(predicate -> sql.append(" AND ").append(predicate));
+    }
+
+    /**
+     * Predicate per set filter, keyed by facet name; the bind values are added to params
+     */
+    private Map<String, String> filterPredicates(LeadFilter filter, Map<String, Object> params) {
+        Map<String, String> predicates = new LinkedHashMap<>();
+        if (filter.getStatus() != null) {
+            predicates.put(FACET_STATUS, "l.status = :status");
+            params.put("status", filter.getStatus().name());
+        }
+        if (filter.getSource() != null) {
+            predicates.put(FACET_SOURCE, "l.source = :source");
+            params.put("source", filter.getSource().name());
+        }
+        if (filter.getAssignedToId() != null) {
+            predicates.put(FACET_ASSIGNEE, "l.assigned_to_id = :assignedToId");
+            params.put("assignedToId", filter.getAssignedToId());
+        }
+        if (filter.getConverted() != null) {
+            predicates.put(FACET_CONVERTED, "l.is_converted = :converted");
+            params.put("converted", filter.getConverted());
+        }
+        return predicates;
+    }
+
+    /**
+     * GROUPING(col) is 0 in the rows of the grouping set that contains the column
+     */
+    private boolean isGroupedBy(Object grouping) {
+        return ((Number) grouping).intValue() == 0;
+    }
+
+    private String asString(Object value) {
+        return value == null ? null : value.toString();
+    }
+}
@@ -2,8 +2,13 @@ package com.cengiz.crm.repository;
 
 import com.cengiz.crm.entity.OpportunityProduct;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,4 +17,14 @@ public interface OpportunityProductRepository extends JpaRepository<OpportunityP
     List<OpportunityProduct> findByOpportunityIdAndIsDeletedFalse(Long opportunityId);
 
     List<OpportunityProduct> findByProductIdAndIsDeletedFalse(Long productId);
+
+    /**
+     * Bulk counterpart of the opportunity's line items cascade, for all opportunities of the given customers
+     */
+    @Modifying
+    @Query("UPDATE OpportunityProduct p SET p.isDeleted = true, p.deletedAt = :deletedAt, " +
+            "p.deletedBy = :deletedBy, p.version = p.version + 1 WHERE p.isDeleted = false AND " +
+            "p.opportunity.id IN (SELECT o.id FROM Opportunity o WHERE o.customer.id IN :customerIds)")
+    int softDeleteByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds,
+            @Param("deletedAt") LocalDateTime deletedAt, @Param("deletedBy") String deletedBy);
 }
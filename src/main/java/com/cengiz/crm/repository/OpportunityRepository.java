@@ -3,19 +3,45 @@ package com.cengiz.crm.repository;
 import com.cengiz.crm.entity.Opportunity;
 import com.cengiz.crm.enums.OpportunityStage;
 import com.cengiz.crm.enums.OpportunityStatus;
+import com.cengiz.crm.repository.projection.OpportunityListItem;
+import com.cengiz.crm.repository.projection.StatusValueSum;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface OpportunityRepository extends JpaRepository<Opportunity, Long> {
+public interface OpportunityRepository extends JpaRepository<Opportunity, Long>, OpportunityRepositoryCustom {
 
     List<Opportunity> findByIsDeletedFalse();
 
+    /**
+     * Next batch of live rows in id order, for streaming the table into the search index
+     */
+    List<Opportunity> findByIsDeletedFalseAndIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    /**
+     * All live opportunities with customer and owner in id order, read lazily with a JDBC fetch size for exports.
+     * Must be consumed inside a read-only transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query("SELECT o FROM Opportunity o LEFT JOIN FETCH o.customer LEFT JOIN FETCH o.owner " +
+            "WHERE o.isDeleted = false ORDER BY o.id")
+    Stream<Opportunity> streamAllForExport();
+
     List<Opportunity> findByStatusAndIsDeletedFalse(OpportunityStatus status);
 
     List<Opportunity> findByStageAndIsDeletedFalse(OpportunityStage stage);
@@ -24,9 +50,15 @@ public interface OpportunityRepository extends JpaRepository<Opportunity, Long>
 
     List<Opportunity> findByCustomerIdAndIsDeletedFalse(Long customerId);
 
-    @Query("SELECT o FROM Opportunity o WHERE o.isDeleted = false AND " +
-            "LOWER(o.name) LIKE LOWER(CONCAT('%', :search, '%'))")
-    List<Opportunity> searchOpportunities(@Param("search") String search);
+    /**
+     * Live opportunities matching a prefix tsquery built by {@link com.cengiz.crm.util.FullTextQuery}, best match first.
+     * Served by the GIN index on search_vector instead of a sequential LIKE scan.
+     */
+    @Query(value = "SELECT o.* FROM opportunities o WHERE o.is_deleted = false " +
+            "AND o.search_vector @@ to_tsquery('simple', :query) " +
+            "ORDER BY ts_rank(o.search_vector, to_tsquery('simple', :query)) DESC, o.id",
+            nativeQuery = true)
+    List<Opportunity> searchOpportunities(@Param("query") String query, Pageable pageable);
 
     @Query("SELECT SUM(o.value) FROM Opportunity o WHERE o.isDeleted = false AND o.status = :status")
     BigDecimal sumValueByStatus(@Param("status") OpportunityStatus status);
@@ -34,6 +66,46 @@ public interface OpportunityRepository extends JpaRepository<Opportunity, Long>
     @Query("SELECT COUNT(o) FROM Opportunity o WHERE o.isDeleted = false AND o.status = :status")
     long countByStatus(@Param("status") OpportunityStatus status);
 
+    @Query("SELECT o.status AS status, COUNT(o) AS total, SUM(o.value) AS totalValue FROM Opportunity o " +
+            "WHERE o.isDeleted = false GROUP BY o.status")
+    List<StatusValueSum<OpportunityStatus>> sumGroupedByStatus();
+
+    @Query("SELECT o.status AS status, COUNT(o) AS total, SUM(o.value) AS totalValue FROM Opportunity o " +
+            "WHERE o.isDeleted = false AND o.owner.id = :userId GROUP BY o.status")
+    List<StatusValueSum<OpportunityStatus>> sumGroupedByStatusForOwner(@Param("userId") Long userId);
+
     @Query("SELECT o FROM Opportunity o LEFT JOIN FETCH o.products WHERE o.id = :id AND o.isDeleted = false")
     Opportunity findByIdWithProducts(@Param("id") Long id);
+
+    @Query("SELECT new com.cengiz.crm.repository.projection.OpportunityListItem(" +
+            "o.id, o.name, c.companyName, o.value, o.stage, o.status, o.probability, o.expectedCloseDate, " +
+            "CONCAT(u.firstName, ' ', u.lastName), o.createdAt) " +
+            "FROM Opportunity o LEFT JOIN o.customer c LEFT JOIN o.owner u " +
+            "WHERE o.isDeleted = false ORDER BY o.createdAt DESC, o.id DESC")
+    List<OpportunityListItem> findListItems(Pageable pageable);
+
+    @Query("SELECT new com.cengiz.crm.repository.projection.OpportunityListItem(" +
+            "o.id, o.name, c.companyName, o.value, o.stage, o.status, o.probability, o.expectedCloseDate, " +
+            "CONCAT(u.firstName, ' ', u.lastName), o.createdAt) " +
+            "FROM Opportunity o LEFT JOIN o.customer c LEFT JOIN o.owner u " +
+            "WHERE o.isDeleted = false AND o.createdAt <= :createdAt AND " +
+            "(o.createdAt < :createdAt OR o.id < :id) ORDER BY o.createdAt DESC, o.id DESC")
+    List<OpportunityListItem> findListItemsBefore(@Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT o.id FROM Opportunity o WHERE o.customer.id IN :customerIds AND o.isDeleted = false")
+    List<Long> findIdsByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds);
+
+    @Query("SELECT DISTINCT o.owner.id FROM Opportunity o " +
+            "WHERE o.customer.id IN :customerIds AND o.isDeleted = false")
+    List<Long> findOwnerIdsByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds);
+
+    /**
+     * Bulk counterpart of the customer's opportunities cascade
+     */
+    @Modifying
+    @Query("UPDATE Opportunity o SET o.isDeleted = true, o.deletedAt = :deletedAt, o.deletedBy = :deletedBy, " +
+            "o.version = o.version + 1 WHERE o.customer.id IN :customerIds AND o.isDeleted = false")
+    int softDeleteByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds,
+            @Param("deletedAt") LocalDateTime deletedAt, @Param("deletedBy") String deletedBy);
 }
@@ -0,0 +1,35 @@
+package com.cengiz.crm.repository;
+
+import com.cengiz.crm.enums.ForecastPeriod;
+import com.cengiz.crm.repository.projection.ForecastBucket;
+import com.cengiz.crm.repository.projection.StageSummary;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Custom Opportunity queries that need dynamically assembled JPQL or SQL
+ */
+public interface OpportunityRepositoryCustom {
+
+    /**
+     * Count, total value and weighted value per stage in a single grouped query.
+     * Every filter is optional; null means "not filtered".
+     *
+     * @param ownerId         only opportunities owned by this user
+     * @param closeDateFrom   expected close date lower bound (inclusive)
+     * @param closeDateTo     expected close date upper bound (inclusive)
+     */
+    List<StageSummary> summarizeByStage(Long ownerId, LocalDate closeDateFrom, LocalDate closeDateTo);
+
+    /**
+     * Open pipeline per period of the expected close date, owner and stage in a single grouped query.
+     * Rows are ordered by period, owner and stage.
+     *
+     * @param period          bucket size
+     * @param closeDateFrom   expected close date lower bound (inclusive)
+     * @param closeDateTo     expected close date upper bound (exclusive)
+     * @param ownerId         only opportunities owned by this user, or null for all owners
+     */
+    List<ForecastBucket> forecast(ForecastPeriod period, LocalDate closeDateFrom, LocalDate closeDateTo, Long ownerId);
+}
@@ -0,0 +1,110 @@
+package com.cengiz.crm.repository;
+
+import com.cengiz.crm.enums.ForecastPeriod;
+import com.cengiz.crm.enums.OpportunityStage;
+import com.cengiz.crm.repository.projection.ForecastBucket;
+import com.cengiz.crm.repository.projection.StageSummary;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of {@link OpportunityRepositoryCustom}
+ * Only the filters that are actually set end up in the WHERE clause, so PostgreSQL never
+ * has to infer the type of a null parameter
+ */
+public class OpportunityRepositoryImpl implements OpportunityRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<StageSummary> summarizeByStage(Long ownerId, LocalDate closeDateFrom, LocalDate closeDateTo) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com.cengiz.crm.repository.projection.StageSummary(" +
+                        "o.stage, COUNT(o), SUM(o.value), SUM(o.value * COALESCE(o.probability, 0) / 100)) " +
+                        "FROM Opportunity o WHERE o.isDeleted = false");
+        Map<String, Object> params = new LinkedHashMap<>();
+
+        if (ownerId != null) {
+            jpql.append(" AND o.owner.id = :ownerId");
+            params.put("ownerId", ownerId);
+        }
+        if (closeDateFrom != null) {
+            jpql.append(" AND o.expectedCloseDate >= :closeDateFrom");
+            params.put("closeDateFrom", closeDateFrom);
+        }
+        if (closeDateTo != null) {
+            jpql.append(" AND o.expectedCloseDate <= :closeDateTo");
+            params.put("closeDateTo", closeDateTo);
+        }
+        jpql.append(" GROUP BY o.stage");
+
+        TypedQuery<StageSummary> query = entityManager.createQuery(jpql.toString(), StageSummary.class);
+        params.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    /**
+     * Aggregates in an inner query so that owner names are joined once per group, not once per row.
+     * The date_trunc unit comes from the enum, never from user input.
+     */
+    @Override
+    public List<ForecastBucket> forecast(ForecastPeriod period, LocalDate closeDateFrom, LocalDate closeDateTo,
+            Long ownerId) {
+        String sql = "SELECT f.period_start, f.owner_id, u.first_name, u.last_name, f.stage, " +
+                "f.opportunity_count, f.total_value, f.weighted_value FROM (" +
+                "SELECT CAST(date_trunc('" + period.getTruncUnit() + "', o.expected_close_date) AS DATE) AS period_start, " +
+                "o.owner_id, o.stage, COUNT(*) AS opportunity_count, SUM(o.value) AS total_value, " +
+                "SUM(o.value * COALESCE(o.probability, 0) / 100) AS weighted_value " +
+                "FROM opportunities o " +
+                "WHERE o.is_deleted = false AND o.status = 'OPEN' " +
+                "AND o.expected_close_date >= :closeDateFrom AND o.expected_close_date < :closeDateTo" +
+                (ownerId != null ? " AND o.owner_id = :ownerId" : "") +
+                " GROUP BY 1, o.owner_id, o.stage) f " +
+                "JOIN users u ON u.id = f.owner_id " +
+                "ORDER BY f.period_start, f.owner_id, f.stage";
+
+        Query query = entityManager.createNativeQuery(sql)
+                .setParameter("closeDateFrom", closeDateFrom)
+                .setParameter("closeDateTo", closeDateTo);
+        if (ownerId != null) {
+            query.setParameter("ownerId", ownerId);
+        }
+
+        List<ForecastBucket> buckets = new ArrayList<>();
+        for (Object row : query.getResultList()) {
+            Object[] columns = (Object[]) row;
+            buckets.add(new ForecastBucket(
+                    toLocalDate(columns[0]),
+                    ((Number) columns[1]).longValue(),
+                    columns[2] + " " + columns[3],
+                    OpportunityStage.valueOf((String) columns[4]),
+                    ((Number) columns[5]).longValue(),
+                    toBigDecimal(columns[6]),
+                    toBigDecimal(columns[7]).setScale(2, RoundingMode.HALF_UP)));
+        }
+        return buckets;
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date ? ((Date) value).toLocalDate() : (LocalDate) value;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+    }
+}
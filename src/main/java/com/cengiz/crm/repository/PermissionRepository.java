@@ -2,17 +2,25 @@ package com.cengiz.crm.repository;
 
 import com.cengiz.crm.entity.Permission;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Permission queries are served from the Hibernate query cache (SecondLevelCacheConfig)
+ */
 @Repository
 public interface PermissionRepository extends JpaRepository<Permission, Long> {
 
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
     List<Permission> findByIsDeletedFalse();
 
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
     Optional<Permission> findByCodeAndIsDeletedFalse(String code);
 
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
     List<Permission> findByCategoryAndIsDeletedFalse(String category);
 }
@@ -1,25 +1,63 @@
 package com.cengiz.crm.repository;
 
 import com.cengiz.crm.entity.Product;
+import com.cengiz.crm.repository.projection.LookupOption;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
     List<Product> findByIsDeletedFalse();
 
+    /**
+     * Every live product for the in-memory ProductCatalog. Deliberately not a cacheable query: a node
+     * rebuilding on another node's announcement must read the committed rows even if its own query cache
+     * has not been invalidated yet.
+     */
+    @Query("SELECT p FROM Product p WHERE p.isDeleted = false ORDER BY p.id")
+    List<Product> findCatalog();
+
+    /**
+     * Next batch of live rows in id order, for streaming the table into the search index
+     */
+    List<Product> findByIsDeletedFalseAndIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
     List<Product> findByIsActiveAndIsDeletedFalse(Boolean isActive);
 
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
     Optional<Product> findByProductCodeAndIsDeletedFalse(String productCode);
 
-    @Query("SELECT p FROM Product p WHERE p.isDeleted = false AND " +
-            "(LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(p.productCode) LIKE LOWER(CONCAT('%', :search, '%')))")
-    List<Product> searchProducts(@Param("search") String search);
+    /**
+     * Live products matching a prefix tsquery built by {@link com.cengiz.crm.util.FullTextQuery}, best match first.
+     * Served by the GIN index on search_vector instead of a sequential LIKE scan.
+     */
+    @Query(value = "SELECT p.* FROM products p WHERE p.is_deleted = false " +
+            "AND p.search_vector @@ to_tsquery('simple', :query) " +
+            "ORDER BY ts_rank(p.search_vector, to_tsquery('simple', :query)) DESC, p.id",
+            nativeQuery = true)
+    List<Product> searchProducts(@Param("query") String query, Pageable pageable);
+
+    /**
+     * Typeahead lookup: live, active products whose name or code contains the ILIKE pattern, closest match first.
+     * Served by the product trigram indexes.
+     */
+    @Query(value = "SELECT p.id AS id, p.name AS label, p.product_code AS detail FROM products p " +
+            "WHERE p.is_deleted = false AND p.is_active = true " +
+            "AND (p.name ILIKE :pattern OR p.product_code ILIKE :pattern) " +
+            "ORDER BY GREATEST(similarity(p.name, :term), similarity(p.product_code, :term)) DESC, p.id " +
+            "LIMIT :limit",
+            nativeQuery = true)
+    List<LookupOption> findTypeahead(@Param("pattern") String pattern, @Param("term") String term,
+            @Param("limit") int limit);
 }
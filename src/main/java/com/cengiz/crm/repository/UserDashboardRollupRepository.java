@@ -0,0 +1,38 @@
+package com.cengiz.crm.repository;
+
+import com.cengiz.crm.entity.UserDashboardRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Optional;
+
+@Repository
+public interface UserDashboardRollupRepository extends JpaRepository<UserDashboardRollup, Long> {
+
+    @Query("SELECT r FROM UserDashboardRollup r, User u WHERE u.id = r.userId " +
+            "AND u.email = :email AND u.isDeleted = false")
+    Optional<UserDashboardRollup> findByUserEmail(@Param("email") String email);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM UserDashboardRollup r WHERE r.userId = :userId")
+    Optional<UserDashboardRollup> findByUserIdForUpdate(@Param("userId") Long userId);
+
+    /**
+     * Create an empty rollup row unless one exists, so that concurrent refreshes can lock it.
+     * The query space is declared so that Hibernate only invalidates the rollup table's caches; a native
+     * update without one clears every second-level cache region and cached query.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_NATIVE_SPACES,
+            value = "user_dashboard_rollups"))
+    @Query(value = "INSERT INTO user_dashboard_rollups (user_id, counters, refreshed_at) " +
+            "VALUES (:userId, '{}', CURRENT_TIMESTAMP) ON CONFLICT (user_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId);
+}
@@ -3,6 +3,9 @@ package com.cengiz.crm.repository;
 import com.cengiz.crm.entity.User;
 import com.cengiz.crm.enums.UserRole;
 import com.cengiz.crm.enums.UserStatus;
+import com.cengiz.crm.repository.projection.StatusCount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,20 +19,40 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmailAndIsDeletedFalse(String email);
 
+    /**
+     * Live user by e-mail with its permissions, in one query (login path)
+     */
+    @EntityGraph(attributePaths = "permissions")
+    Optional<User> findWithPermissionsByEmailAndIsDeletedFalse(String email);
+
     List<User> findByIsDeletedFalse();
 
+    @Query("SELECT u.id FROM User u WHERE u.isDeleted = false")
+    List<Long> findActiveIds();
+
+    @Query("SELECT u.id FROM User u WHERE u.email = :email AND u.isDeleted = false")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
     List<User> findByRoleAndIsDeletedFalse(UserRole role);
 
     List<User> findByStatusAndIsDeletedFalse(UserStatus status);
 
-    @Query("SELECT u FROM User u WHERE u.isDeleted = false AND " +
-            "(LOWER(u.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%')))")
-    List<User> searchUsers(@Param("search") String search);
+    /**
+     * Live users matching a prefix tsquery built by {@link com.cengiz.crm.util.FullTextQuery}, best match first.
+     * Served by the GIN index on search_vector instead of a sequential LIKE scan.
+     */
+    @Query(value = "SELECT u.* FROM users u WHERE u.is_deleted = false " +
+            "AND u.search_vector @@ to_tsquery('simple', :query) " +
+            "ORDER BY ts_rank(u.search_vector, to_tsquery('simple', :query)) DESC, u.id",
+            nativeQuery = true)
+    List<User> searchUsers(@Param("query") String query, Pageable pageable);
 
     boolean existsByEmailAndIsDeletedFalse(String email);
 
     @Query("SELECT COUNT(u) FROM User u WHERE u.isDeleted = false AND u.status = :status")
     long countByStatus(@Param("status") UserStatus status);
+
+    @Query("SELECT u.status AS status, COUNT(u) AS total FROM User u " +
+            "WHERE u.isDeleted = false GROUP BY u.status")
+    List<StatusCount<UserStatus>> countGroupedByStatus();
 }
@@ -0,0 +1,37 @@
+package com.cengiz.crm.repository.projection;
+
+import com.cengiz.crm.enums.ActivityStatus;
+import com.cengiz.crm.enums.ActivityType;
+import com.cengiz.crm.enums.Priority;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Activity Feed Item
+ * The columns rendered by the dashboard activity feeds, without TEXT columns or lazy associations
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityFeedItem implements Serializable {
+
+    private Long id;
+
+    private String subject;
+
+    private ActivityType activityType;
+
+    private ActivityStatus status;
+
+    private Priority priority;
+
+    private LocalDateTime dueDate;
+
+    private LocalDateTime createdAt;
+}
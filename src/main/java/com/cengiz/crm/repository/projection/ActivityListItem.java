@@ -0,0 +1,39 @@
+package com.cengiz.crm.repository.projection;
+
+import com.cengiz.crm.enums.ActivityStatus;
+import com.cengiz.crm.enums.ActivityType;
+import com.cengiz.crm.enums.Priority;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Activity List Item
+ * The columns of an activity list row; the assignee is reduced to the display name
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityListItem implements Serializable {
+
+    private Long id;
+
+    private String subject;
+
+    private ActivityType activityType;
+
+    private ActivityStatus status;
+
+    private Priority priority;
+
+    private LocalDateTime dueDate;
+
+    private String assigneeName;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,14 @@
+package com.cengiz.crm.repository.projection;
+
+/**
+ * Assignee Count Projection
+ * One row of a per-user breakdown, carrying the user's display name
+ */
+public interface AssigneeCount {
+
+    Long getUserId();
+
+    String getFullName();
+
+    Long getTotal();
+}
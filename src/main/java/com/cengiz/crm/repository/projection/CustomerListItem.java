@@ -0,0 +1,40 @@
+package com.cengiz.crm.repository.projection;
+
+import com.cengiz.crm.enums.CustomerStatus;
+import com.cengiz.crm.enums.CustomerType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Customer List Item
+ * The columns rendered by the customer list, without TEXT columns, audit fields or associations
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerListItem implements Serializable {
+
+    private Long id;
+
+    private String companyName;
+
+    private String country;
+
+    private CustomerType customerType;
+
+    private String email;
+
+    private String phone;
+
+    private String taxNumber;
+
+    private CustomerStatus status;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,24 @@
+package com.cengiz.crm.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Facet Count
+ * Number of rows with one value of one facet (filter dimension); the value is null for rows without one
+ */
+@Getter
+@AllArgsConstructor
+public class FacetCount {
+
+    private final String facet;
+
+    private final String value;
+
+    /**
+     * Display text of the value where it is not the value itself (e.g. a user's name)
+     */
+    private final String label;
+
+    private final long count;
+}
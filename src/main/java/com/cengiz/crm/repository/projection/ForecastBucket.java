@@ -0,0 +1,54 @@
+package com.cengiz.crm.repository.projection;
+
+import com.cengiz.crm.enums.OpportunityStage;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Forecast Bucket
+ * Open pipeline of one period, optionally narrowed to one owner and stage:
+ * opportunity count, raw value and probability-weighted value
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ForecastBucket {
+
+    private LocalDate periodStart;
+
+    private Long ownerId;
+
+    private String ownerName;
+
+    private OpportunityStage stage;
+
+    private long count;
+
+    private BigDecimal totalValue = BigDecimal.ZERO;
+
+    private BigDecimal weightedValue = BigDecimal.ZERO;
+
+    public ForecastBucket(LocalDate periodStart, Long ownerId, String ownerName, OpportunityStage stage,
+            long count, BigDecimal totalValue, BigDecimal weightedValue) {
+        this.periodStart = periodStart;
+        this.ownerId = ownerId;
+        this.ownerName = ownerName;
+        this.stage = stage;
+        this.count = count;
+        this.totalValue = totalValue;
+        this.weightedValue = weightedValue;
+    }
+
+    /**
+     * Add another bucket's figures to this one
+     */
+    public void add(ForecastBucket other) {
+        this.count += other.count;
+        this.totalValue = this.totalValue.add(other.totalValue);
+        this.weightedValue = this.weightedValue.add(other.weightedValue);
+    }
+}
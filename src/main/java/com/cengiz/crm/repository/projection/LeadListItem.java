@@ -0,0 +1,46 @@
+package com.cengiz.crm.repository.projection;
+
+import com.cengiz.crm.enums.LeadSource;
+import com.cengiz.crm.enums.LeadStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Lead List Item
+ * The columns rendered by the lead inbox, without TEXT columns, social URLs, audit fields or associations
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeadListItem implements Serializable {
+
+    private Long id;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String companyName;
+
+    private String jobTitle;
+
+    private String email;
+
+    private String phone;
+
+    private LeadSource source;
+
+    private LeadStatus status;
+
+    private LocalDateTime createdAt;
+
+    public String getFullName() {
+        return firstName + " " + lastName;
+    }
+}
@@ -0,0 +1,12 @@
+package com.cengiz.crm.repository.projection;
+
+import com.cengiz.crm.enums.LeadStatus;
+
+/**
+ * Lead Status Count Projection
+ * Lead histogram row grouped by status and conversion flag
+ */
+public interface LeadStatusCount extends StatusCount<LeadStatus> {
+
+    Boolean getConverted();
+}
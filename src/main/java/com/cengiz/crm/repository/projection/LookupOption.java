@@ -0,0 +1,14 @@
+package com.cengiz.crm.repository.projection;
+
+/**
+ * Lookup Option Projection
+ * Minimal id/label row for autocomplete pickers; detail is a secondary line (city, e-mail, product code)
+ */
+public interface LookupOption {
+
+    Long getId();
+
+    String getLabel();
+
+    String getDetail();
+}
@@ -0,0 +1,44 @@
+package com.cengiz.crm.repository.projection;
+
+import com.cengiz.crm.enums.OpportunityStage;
+import com.cengiz.crm.enums.OpportunityStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Opportunity List Item
+ * The columns of an opportunity list row; customer and owner are reduced to their display names
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpportunityListItem implements Serializable {
+
+    private Long id;
+
+    private String name;
+
+    private String customerName;
+
+    private BigDecimal value;
+
+    private OpportunityStage stage;
+
+    private OpportunityStatus status;
+
+    private Integer probability;
+
+    private LocalDate expectedCloseDate;
+
+    private String ownerName;
+
+    private LocalDateTime createdAt;
+}
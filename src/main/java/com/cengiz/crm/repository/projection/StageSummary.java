@@ -0,0 +1,51 @@
+package com.cengiz.crm.repository.projection;
+
+import com.cengiz.crm.enums.OpportunityStage;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Stage Summary
+ * Pipeline histogram row: opportunity count, total value and probability-weighted value per stage
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class StageSummary {
+
+    private OpportunityStage stage;
+
+    private long count;
+
+    private BigDecimal totalValue;
+
+    private BigDecimal weightedValue;
+
+    /**
+     * Constructor used by JPQL constructor expressions, where aggregate result types depend on the dialect
+     */
+    public StageSummary(OpportunityStage stage, Number count, Number totalValue, Number weightedValue) {
+        this.stage = stage;
+        this.count = count != null ? count.longValue() : 0L;
+        this.totalValue = toBigDecimal(totalValue);
+        this.weightedValue = toBigDecimal(weightedValue).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Empty row for a stage without opportunities
+     */
+    public static StageSummary empty(OpportunityStage stage) {
+        return new StageSummary(stage, 0L, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    private static BigDecimal toBigDecimal(Number number) {
+        if (number == null) {
+            return BigDecimal.ZERO;
+        }
+        return number instanceof BigDecimal ? (BigDecimal) number : new BigDecimal(number.toString());
+    }
+}
@@ -0,0 +1,14 @@
+package com.cengiz.crm.repository.projection;
+
+/**
+ * Status Count Projection
+ * One row of a GROUP BY status histogram
+ *
+ * @param <S> status enum of the grouped entity
+ */
+public interface StatusCount<S extends Enum<S>> {
+
+    S getStatus();
+
+    Long getTotal();
+}
@@ -0,0 +1,14 @@
+package com.cengiz.crm.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Status Value Sum Projection
+ * Status histogram row that also carries the summed monetary value of the group
+ *
+ * @param <S> status enum of the grouped entity
+ */
+public interface StatusValueSum<S extends Enum<S>> extends StatusCount<S> {
+
+    BigDecimal getTotalValue();
+}
@@ -0,0 +1,210 @@
+package com.cengiz.crm.search;
+
+import com.cengiz.crm.dto.GlobalSearchHit;
+import com.cengiz.crm.enums.SearchEntityType;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.FSDirectory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Lucene index on local disk behind the global search box
+ * One document per searchable entity, keyed by type and id. Writes become visible to searches
+ * after {@link #commit()}. Every document carries the generation it was written in, so a full
+ * rebuild can overwrite documents in place and afterwards drop the ones it did not see.
+ * Not thread-safe for writes: callers apply changes from a single thread.
+ */
+public class GlobalSearchIndex implements Closeable {
+
+    /**
+     * Longer queries are truncated to this many terms
+     */
+    public static final int MAX_TERMS = 8;
+
+    private static final String FIELD_KEY = "key";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_SUBTITLE = "subtitle";
+    private static final String FIELD_TEXT = "text";
+    private static final String FIELD_GENERATION = "generation";
+
+    private static final float EXACT_TITLE_BOOST = 4f;
+    private static final float PREFIX_TITLE_BOOST = 2f;
+
+    private final Analyzer analyzer = new FoldingAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public GlobalSearchIndex(Path directory) throws IOException {
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        this.writer = new IndexWriter(FSDirectory.open(directory), config);
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    /**
+     * Add or replace the document of an entity
+     */
+    public void upsert(SearchDocument document, long generation) throws IOException {
+        Document doc = new Document();
+        doc.add(new StringField(FIELD_KEY, document.getKey(), Field.Store.NO));
+        doc.add(new StringField(FIELD_TYPE, document.getType().name(), Field.Store.YES));
+        doc.add(new StoredField(FIELD_ID, document.getId()));
+        doc.add(new TextField(FIELD_TITLE, nullToEmpty(document.getTitle()), Field.Store.YES));
+        if (document.getSubtitle() != null) {
+            doc.add(new StoredField(FIELD_SUBTITLE, document.getSubtitle()));
+        }
+        doc.add(new TextField(FIELD_TEXT, nullToEmpty(document.getText()), Field.Store.NO));
+        doc.add(new LongPoint(FIELD_GENERATION, generation));
+        writer.updateDocument(new Term(FIELD_KEY, document.getKey()), doc);
+    }
+
+    public void delete(String key) throws IOException {
+        writer.deleteDocuments(new Term(FIELD_KEY, key));
+    }
+
+    /**
+     * Drop every document written before the given generation
+     */
+    public void deleteOlderThan(long generation) throws IOException {
+        writer.deleteDocuments(LongPoint.newRangeQuery(FIELD_GENERATION, Long.MIN_VALUE, generation - 1));
+    }
+
+    /**
+     * Make pending writes durable and visible to searches
+     */
+    public void commit() throws IOException {
+        writer.commit();
+        searcherManager.maybeRefresh();
+    }
+
+    public int documentCount() {
+        return writer.getDocStats().numDocs;
+    }
+
+    /**
+     * Best matches of all words of the text (each as a prefix), title matches first
+     *
+     * @param types restrict to these types; empty for all
+     */
+    public List<GlobalSearchHit> search(String text, Collection<SearchEntityType> types, int limit)
+            throws IOException {
+        Query query = buildQuery(text, types);
+        if (query == null) {
+            return Collections.emptyList();
+        }
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            ScoreDoc[] scoreDocs = searcher.search(query, limit).scoreDocs;
+            StoredFields storedFields = searcher.storedFields();
+            List<GlobalSearchHit> hits = new ArrayList<>(scoreDocs.length);
+            for (ScoreDoc scoreDoc : scoreDocs) {
+                Document doc = storedFields.document(scoreDoc.doc);
+                hits.add(new GlobalSearchHit(SearchEntityType.valueOf(doc.get(FIELD_TYPE)),
+                        doc.getField(FIELD_ID).numericValue().longValue(),
+                        doc.get(FIELD_TITLE), doc.get(FIELD_SUBTITLE), scoreDoc.score));
+            }
+            return hits;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private Query buildQuery(String text, Collection<SearchEntityType> types) throws IOException {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            Query anyField = new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(FIELD_TITLE, term)), EXACT_TITLE_BOOST),
+                            BooleanClause.Occur.SHOULD)
+                    .add(new BoostQuery(new PrefixQuery(new Term(FIELD_TITLE, term)), PREFIX_TITLE_BOOST),
+                            BooleanClause.Occur.SHOULD)
+                    .add(new PrefixQuery(new Term(FIELD_TEXT, term)), BooleanClause.Occur.SHOULD)
+                    .build();
+            query.add(anyField, BooleanClause.Occur.MUST);
+        }
+        if (types != null && !types.isEmpty()) {
+            BooleanQuery.Builder typeFilter = new BooleanQuery.Builder();
+            for (SearchEntityType type : types) {
+                typeFilter.add(new TermQuery(new Term(FIELD_TYPE, type.name())), BooleanClause.Occur.SHOULD);
+            }
+            query.add(typeFilter.build(), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    private List<String> analyze(String text) throws IOException {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        try (TokenStream stream = analyzer.tokenStream(FIELD_TEXT, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken() && terms.size() < MAX_TERMS) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        }
+        return terms;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        analyzer.close();
+    }
+
+    /**
+     * Standard tokenization, lower-cased and folded to ASCII, so "sirket" also finds "Şirket"
+     * and dotted/dotless i match each other
+     */
+    private static final class FoldingAnalyzer extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            StandardTokenizer tokenizer = new StandardTokenizer();
+            TokenStream stream = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+            return new TokenStreamComponents(tokenizer, stream);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.cengiz.crm.search;
+
+import lombok.Getter;
+
+/**
+ * A committed entity change waiting to be applied to the search index
+ */
+@Getter
+public class IndexChange {
+
+    private final String key;
+
+    /**
+     * New document, or null if the entity was deleted (or soft-deleted)
+     */
+    private final SearchDocument document;
+
+    /**
+     * True for a change committed on another node: only the key is known, and the document is read
+     * from the database when the change is applied
+     */
+    private final boolean reload;
+
+    /**
+     * {@link System#nanoTime()} when the change was recorded, for the index lag metric
+     */
+    private final long recordedAt;
+
+    public IndexChange(String key, SearchDocument document) {
+        this(key, document, false);
+    }
+
+    private IndexChange(String key, SearchDocument document, boolean reload) {
+        this.key = key;
+        this.document = document;
+        this.reload = reload;
+        this.recordedAt = System.nanoTime();
+    }
+
+    /**
+     * Change of the given key whose document must be read from the database
+     */
+    public static IndexChange reload(String key) {
+        return new IndexChange(key, null, true);
+    }
+
+    public boolean isDelete() {
+        return document == null && !reload;
+    }
+}
@@ -0,0 +1,117 @@
+package com.cengiz.crm.search;
+
+import com.cengiz.crm.entity.Contact;
+import com.cengiz.crm.entity.Customer;
+import com.cengiz.crm.entity.Lead;
+import com.cengiz.crm.entity.Opportunity;
+import com.cengiz.crm.entity.Product;
+import com.cengiz.crm.entity.base.BaseEntity;
+import com.cengiz.crm.enums.SearchEntityType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Snapshot of an entity's searchable text, taken while the entity is still attached
+ * Only basic columns are read, so building a document never triggers lazy loading.
+ */
+@Getter
+@AllArgsConstructor
+public class SearchDocument {
+
+    private final SearchEntityType type;
+
+    private final Long id;
+
+    /**
+     * Primary display text, also matched with a higher boost
+     */
+    private final String title;
+
+    private final String subtitle;
+
+    /**
+     * All searchable text, title included
+     */
+    private final String text;
+
+    /**
+     * Index key of an entity, unique across types
+     */
+    public static String key(SearchEntityType type, Long id) {
+        return type.name() + ":" + id;
+    }
+
+    public String getKey() {
+        return key(type, id);
+    }
+
+    /**
+     * Indexed type of an entity, or null if the entity is not searchable
+     */
+    public static SearchEntityType typeOf(Object entity) {
+        if (entity instanceof Customer) {
+            return SearchEntityType.CUSTOMER;
+        } else if (entity instanceof Contact) {
+            return SearchEntityType.CONTACT;
+        } else if (entity instanceof Lead) {
+            return SearchEntityType.LEAD;
+        } else if (entity instanceof Opportunity) {
+            return SearchEntityType.OPPORTUNITY;
+        } else if (entity instanceof Product) {
+            return SearchEntityType.PRODUCT;
+        }
+        return null;
+    }
+
+    /**
+     * Document of a live searchable entity; null for other entities and soft-deleted rows
+     */
+    public static SearchDocument of(BaseEntity entity) {
+        if (Boolean.TRUE.equals(entity.getIsDeleted())) {
+            return null;
+        }
+        if (entity instanceof Customer) {
+            Customer c = (Customer) entity;
+            return document(SearchEntityType.CUSTOMER, c, c.getCompanyName(), join(c.getCity(), c.getEmail()),
+                    c.getEmail(), c.getCity(), c.getPhone(), c.getWebsite(), c.getTaxNumber());
+        } else if (entity instanceof Contact) {
+            Contact c = (Contact) entity;
+            return document(SearchEntityType.CONTACT, c, c.getFullName(), join(c.getJobTitle(), c.getEmail()),
+                    c.getEmail(), c.getPhone(), c.getMobile(), c.getJobTitle(), c.getDepartment());
+        } else if (entity instanceof Lead) {
+            Lead l = (Lead) entity;
+            return document(SearchEntityType.LEAD, l, l.getFullName(), join(l.getCompanyName(), l.getEmail()),
+                    l.getCompanyName(), l.getEmail(), l.getPhone(), l.getCity());
+        } else if (entity instanceof Opportunity) {
+            Opportunity o = (Opportunity) entity;
+            return document(SearchEntityType.OPPORTUNITY, o, o.getName(),
+                    o.getStage() != null ? o.getStage().name() : null, o.getDescription());
+        } else if (entity instanceof Product) {
+            Product p = (Product) entity;
+            return document(SearchEntityType.PRODUCT, p, p.getName(), p.getProductCode(),
+                    p.getProductCode(), p.getCategory(), p.getDescription());
+        }
+        return null;
+    }
+
+    private static SearchDocument document(SearchEntityType type, BaseEntity entity, String title, String subtitle,
+            String... fields) {
+        String text = join(" ", Stream.concat(Stream.of(title), Stream.of(fields)));
+        return new SearchDocument(type, entity.getId(), title, subtitle, text);
+    }
+
+    private static String join(String... parts) {
+        String joined = join(" · ", Stream.of(parts));
+        return joined.isEmpty() ? null : joined;
+    }
+
+    private static String join(String separator, Stream<String> parts) {
+        return parts.filter(Objects::nonNull)
+                .filter(part -> !part.isBlank())
+                .collect(Collectors.joining(separator));
+    }
+}
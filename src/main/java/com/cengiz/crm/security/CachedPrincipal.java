@@ -0,0 +1,62 @@
+package com.cengiz.crm.security;
+
+import com.cengiz.crm.entity.User;
+import com.cengiz.crm.enums.UserStatus;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the login-relevant state of a user
+ * The lock is kept as a point in time rather than a flag, so an expiring lock
+ * takes effect without the entry being evicted.
+ */
+final class CachedPrincipal {
+
+    private final String email;
+    private final String passwordHash;
+    private final UserStatus status;
+    private final LocalDateTime accountLockedUntil;
+    private final List<GrantedAuthority> authorities;
+
+    private CachedPrincipal(User user) {
+        this.email = user.getEmail();
+        this.passwordHash = user.getPassword();
+        this.status = user.getStatus();
+        this.accountLockedUntil = user.getAccountLockedUntil();
+
+        List<GrantedAuthority> granted = new ArrayList<>(user.getPermissions().size() + 1);
+        granted.add(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
+        user.getPermissions().forEach(permission -> granted.add(new SimpleGrantedAuthority(permission.getCode())));
+        this.authorities = Collections.unmodifiableList(granted);
+    }
+
+    /**
+     * Snapshot of the user; the permissions must be loaded or loadable
+     */
+    static CachedPrincipal of(User user) {
+        return new CachedPrincipal(user);
+    }
+
+    /**
+     * A fresh UserDetails per call: Spring Security erases the credentials of the instance it authenticated.
+     * An inactive or currently locked account is returned with the matching flag cleared, so authentication
+     * fails with a DisabledException or LockedException.
+     */
+    UserDetails toUserDetails() {
+        boolean locked = accountLockedUntil != null && accountLockedUntil.isAfter(LocalDateTime.now());
+        return new org.springframework.security.core.userdetails.User(
+                email,
+                passwordHash,
+                status == UserStatus.ACTIVE,
+                true,
+                true,
+                !locked,
+                authorities);
+    }
+}
@@ -2,57 +2,43 @@ package com.cengiz.crm.security;
 
 import com.cengiz.crm.entity.User;
 import com.cengiz.crm.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Custom UserDetailsService for Spring Security
+ * Principals are served from the {@link PrincipalCache}; only a miss opens a transaction and reads the
+ * user together with its permissions in a single query.
  */
 @Service
-@RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public CustomUserDetailsService(UserRepository userRepository, PrincipalCache principalCache,
+            PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
 
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmailAndIsDeletedFalse(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
-
-        if (!user.isActive()) {
-            throw new UsernameNotFoundException("User account is not active");
-        }
-
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                user.isActive(),
-                true,
-                true,
-                !user.isAccountLocked(),
-                getAuthorities(user));
+        return principalCache.get(email, this::loadPrincipal).toUserDetails();
     }
 
-    private Collection<? extends GrantedAuthority> getAuthorities(User user) {
-        List<GrantedAuthority> authorities = new ArrayList<>();
-
-        // Add role
-        authorities.add(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
-
-        // Add permissions
-        user.getPermissions().forEach(permission -> authorities.add(new SimpleGrantedAuthority(permission.getCode())));
-
-        return authorities;
+    private CachedPrincipal loadPrincipal(String email) {
+        return readOnlyTransaction.execute(status -> {
+            User user = userRepository.findWithPermissionsByEmailAndIsDeletedFalse(email)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+            return CachedPrincipal.of(user);
+        });
     }
 }
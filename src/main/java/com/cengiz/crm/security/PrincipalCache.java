@@ -0,0 +1,127 @@
+package com.cengiz.crm.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Node-local cache of login principals keyed by e-mail
+ * <ul>
+ * <li>A hit authenticates without a database round trip; misses are loaded by the caller and
+ * failed lookups are never cached.</li>
+ * <li>Entries are evicted after commit when a user's e-mail, password, role, status, lock or
+ * permissions change (PrincipalCacheListener). Evictions are broadcast over Redis pub/sub so every
+ * node drops its copy; the TTL bounds staleness if a broadcast is lost.</li>
+ * <li>Hit, miss and eviction counts are published as the cache.* metrics of the "principals" cache.</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+
+    /**
+     * Eviction key that drops every entry, e.g. after a permission was renamed
+     */
+    public static final String ALL = "*";
+
+    static final String CHANNEL = "crm:principal-cache:evict";
+
+    private final Cache<String, CachedPrincipal> cache;
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    private final ObjectProvider<RedisMessageListenerContainer> listenerContainer;
+    private final boolean enabled;
+
+    /**
+     * Bumped on every eviction; a load that overlapped one is returned but not cached,
+     * since it may have read the state from before the change
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    public PrincipalCache(@Value("${crm.security.principal-cache.enabled:true}") boolean enabled,
+            @Value("${crm.security.principal-cache.ttl:PT10M}") Duration ttl,
+            @Value("${crm.security.principal-cache.max-size:10000}") long maxSize,
+            MeterRegistry meterRegistry,
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            ObjectProvider<RedisMessageListenerContainer> listenerContainer) {
+        this.enabled = enabled;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.ifAvailable(container -> container.addMessageListener(
+                (message, pattern) -> evictLocally(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CHANNEL)));
+    }
+
+    /**
+     * Cached principal of the e-mail, loading it with the given loader on a miss
+     */
+    CachedPrincipal get(String email, Function<String, CachedPrincipal> loader) {
+        if (!enabled) {
+            return loader.apply(email);
+        }
+        CachedPrincipal cached = cache.getIfPresent(email);
+        if (cached != null) {
+            return cached;
+        }
+        long evictionsBefore = evictions.get();
+        CachedPrincipal loaded = loader.apply(email);
+        if (evictions.get() == evictionsBefore) {
+            cache.put(email, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Evict the given e-mails (or {@link #ALL}) on this node and broadcast the eviction to the others
+     */
+    public void evict(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+        emails.forEach(this::evictLocally);
+        StringRedisTemplate template = redisTemplate.getIfAvailable();
+        if (template == null) {
+            return;
+        }
+        try {
+            emails.forEach(email -> template.convertAndSend(CHANNEL, email));
+        } catch (DataAccessException e) {
+            log.warn("Principal cache eviction not broadcast, other nodes keep {} until it expires: {}",
+                    emails, e.getMessage());
+        }
+    }
+
+    private void evictLocally(String email) {
+        evictions.incrementAndGet();
+        if (ALL.equals(email)) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(email);
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.cengiz.crm.service;
+
+import com.cengiz.crm.dto.ImportChunkReport;
+import com.cengiz.crm.dto.ImportProgress;
+import com.cengiz.crm.dto.ImportRowError;
+import com.cengiz.crm.enums.ImportType;
+import com.cengiz.crm.importer.ImportColumn;
+import com.cengiz.crm.importer.ImportJob;
+import com.cengiz.crm.importer.ImportRow;
+import com.cengiz.crm.importer.ImportSchema;
+import com.cengiz.crm.util.CsvReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Toplu İçe Aktarma Servisi
+ * Potansiyel müşteri ve müşteri CSV dosyalarını Hibernate'i atlayarak yüksek hızda yükler.
+ * <ul>
+ * <li>Dosya akış halinde okunur; bellekte yalnızca bir parça (chunk) ve e-posta kümesi tutulur.</li>
+ * <li>Her parçanın satırları paralel doğrulanır; e-posta tekrarları dosya içinde ve veritabanına
+ * karşı elenir, ilk geçen kayıt kazanır.</li>
+ * <li>Geçerli satırlar tek JDBC batch ile, her parça kendi transaction'ında yazılır; hatalı bir
+ * parça yalnızca kendisini geri alır ve parça raporunda görünür.</li>
+ * <li>İş durumu bu düğümde tutulur ve {@link #getProgress(String)} ile sorgulanır.</li>
+ * </ul>
+ * Toplu yazma Hibernate dinleyicilerini tetiklemediği için iş bitince dashboard sayaçları
+ * uzlaştırılır ve genel arama indeksi yeniden oluşturulur. İçe aktarılan kayıtlar kimseye
+ * atanmadığından kullanıcı özetleri etkilenmez.
+ *
+ * @author Cengiz
+ */
+@Service
+@Slf4j
+public class BulkImportService {
+
+    private final TaskExecutor importExecutor;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final DerivedDataService derivedDataService;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${crm.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${crm.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Value("${crm.import.retention:PT24H}")
+    private Duration retention;
+
+    public BulkImportService(@Qualifier("importExecutor") TaskExecutor importExecutor,
+            JdbcTemplate jdbcTemplate,
+            NamedParameterJdbcTemplate namedJdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            DerivedDataService derivedDataService) {
+        this.importExecutor = importExecutor;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.derivedDataService = derivedDataService;
+    }
+
+    /**
+     * Dosyayı geçici bir dosyaya alır, başlığını doğrular ve içe aktarmayı kuyruğa ekler
+     *
+     * @throws IllegalArgumentException başlıkta zorunlu sütunlar yoksa
+     * @throws org.springframework.core.task.TaskRejectedException kuyruk doluysa
+     */
+    public ImportProgress submit(ImportType type, MultipartFile file, String username) throws IOException {
+        ImportSchema schema = ImportSchema.of(type);
+        Path path = Files.createTempFile("crm-import-", ".csv");
+        try {
+            file.transferTo(path);
+            try (CsvReader reader = new CsvReader(Files.newInputStream(path))) {
+                String[] header = reader.readRecord();
+                if (header == null) {
+                    throw new IllegalArgumentException("The file is empty");
+                }
+                schema.resolveHeader(header);
+            }
+
+            long size = Files.size(path);
+            ImportJob job = new ImportJob(type, file.getOriginalFilename(), username, size);
+            jobs.put(job.getId(), job);
+            try {
+                importExecutor.execute(() -> run(job, schema, path));
+            } catch (RuntimeException e) {
+                jobs.remove(job.getId());
+                throw e;
+            }
+            log.info("Bulk import {} of {} queued by {} ({} bytes)", job.getId(), type, username, size);
+            return job.toProgress();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+    }
+
+    public Optional<ImportProgress> getProgress(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(ImportJob::toProgress);
+    }
+
+    /**
+     * Biten işlerin durumunu saklama süresi dolunca unutur
+     */
+    @Scheduled(fixedDelay = 3600000)
+    public void purgeFinishedJobs() {
+        LocalDateTime threshold = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(threshold));
+    }
+
+    private void run(ImportJob job, ImportSchema schema, Path path) {
+        job.start();
+        long startedAt = System.nanoTime();
+        try (CountingInputStream input = new CountingInputStream(Files.newInputStream(path));
+                CsvReader reader = new CsvReader(input)) {
+            int[] positions = schema.resolveHeader(reader.readRecord());
+            String insertSql = schema.insertSql();
+            Map<String, Long> seenEmails = new HashMap<>();
+            List<RawRecord> chunk = new ArrayList<>(chunkSize);
+            int chunkNumber = 0;
+            long rowsRead = 0;
+
+            String[] record;
+            while ((record = reader.readRecord()) != null) {
+                chunk.add(new RawRecord(reader.getRecordLine(), record));
+                if (chunk.size() == chunkSize) {
+                    importChunk(job, schema, positions, insertSql, ++chunkNumber, chunk, seenEmails);
+                    rowsRead += chunk.size();
+                    job.setRowsRead(rowsRead);
+                    job.setBytesRead(input.count);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(job, schema, positions, insertSql, ++chunkNumber, chunk, seenEmails);
+                job.setRowsRead(rowsRead + chunk.size());
+                job.setBytesRead(input.count);
+            }
+            job.complete();
+            log.info("Bulk import {} finished in {} ms: {}", job.getId(),
+                    Duration.ofNanos(System.nanoTime() - startedAt).toMillis(), summary(job.toProgress()));
+        } catch (IOException | RuntimeException e) {
+            job.fail(e.getMessage());
+            log.error("Bulk import {} failed", job.getId(), e);
+        } finally {
+            deleteQuietly(path);
+        }
+        // Toplu yazma Hibernate dinleyicilerini atladığı için türetilmiş veriler tazelenir
+        if (job.getImported() > 0) {
+            derivedDataService.refreshAfterBulkImport();
+        }
+    }
+
+    private void importChunk(ImportJob job, ImportSchema schema, int[] positions, String insertSql,
+            int chunkNumber, List<RawRecord> records, Map<String, Long> seenEmails) {
+        List<ImportRow> rows = records.parallelStream()
+                .map(r -> schema.validate(r.line, r.values, positions))
+                .collect(Collectors.toList());
+
+        ImportChunkReport report = new ImportChunkReport();
+        report.setChunk(chunkNumber);
+        report.setFirstLine(records.get(0).line);
+        report.setLastLine(records.get(records.size() - 1).line);
+
+        List<ImportRow> candidates = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            if (!row.isValid()) {
+                report.setInvalid(report.getInvalid() + 1);
+                reportError(job, report, row.getLine(), row.getError());
+            } else if (row.getEmail() != null && seenEmails.containsKey(row.getEmail())) {
+                report.setDuplicates(report.getDuplicates() + 1);
+                reportError(job, report, row.getLine(), "Duplicate e-mail " + row.getEmail()
+                        + " (first on line " + seenEmails.get(row.getEmail()) + ")");
+            } else {
+                if (row.getEmail() != null) {
+                    seenEmails.put(row.getEmail(), row.getLine());
+                }
+                candidates.add(row);
+            }
+        }
+
+        // Rows actually sent to the database; lost if the chunk rolls back
+        int[] attempted = {candidates.size()};
+        try {
+            chunkTransaction.executeWithoutResult(status -> {
+                List<ImportRow> toInsert = withoutExisting(job, schema, report, candidates);
+                attempted[0] = toInsert.size();
+                if (!toInsert.isEmpty()) {
+                    insert(schema, insertSql, toInsert, job.getSubmittedBy());
+                }
+                report.setImported(toInsert.size());
+            });
+        } catch (DataAccessException e) {
+            report.setImported(0);
+            report.setError(e.getMostSpecificCause().getMessage());
+            // Rows of a rolled back chunk must not make later rows with the same e-mail look like duplicates
+            candidates.forEach(row -> seenEmails.remove(row.getEmail(), row.getLine()));
+            log.warn("Bulk import {} chunk {} (lines {}-{}) rolled back: {}", job.getId(), chunkNumber,
+                    report.getFirstLine(), report.getLastLine(), report.getError());
+        }
+        job.addChunk(report, attempted[0]);
+    }
+
+    /**
+     * Candidates whose e-mail is not yet used by a live row of the table
+     */
+    private List<ImportRow> withoutExisting(ImportJob job, ImportSchema schema, ImportChunkReport report,
+            List<ImportRow> candidates) {
+        Set<String> emails = candidates.stream()
+                .map(ImportRow::getEmail)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (emails.isEmpty()) {
+            return candidates;
+        }
+        Set<String> existing = new HashSet<>(namedJdbcTemplate.queryForList(schema.existingEmailsSql(),
+                Map.of("emails", emails), String.class));
+        if (existing.isEmpty()) {
+            return candidates;
+        }
+        List<ImportRow> remaining = new ArrayList<>(candidates.size());
+        for (ImportRow row : candidates) {
+            if (row.getEmail() != null && existing.contains(row.getEmail())) {
+                report.setDuplicates(report.getDuplicates() + 1);
+                reportError(job, report, row.getLine(), "E-mail " + row.getEmail() + " already exists");
+            } else {
+                remaining.add(row);
+            }
+        }
+        return remaining;
+    }
+
+    private void insert(ImportSchema schema, String insertSql, List<ImportRow> rows, String createdBy) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<ImportColumn> columns = schema.getColumns();
+        jdbcTemplate.batchUpdate(insertSql, rows, rows.size(), (ps, row) -> {
+            Object[] values = row.getValues();
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == null) {
+                    ps.setNull(i + 1, columns.get(i).getSqlType());
+                } else {
+                    ps.setObject(i + 1, values[i], columns.get(i).getSqlType());
+                }
+            }
+            ps.setTimestamp(values.length + 1, now);
+            ps.setString(values.length + 2, createdBy);
+        });
+    }
+
+    private void reportError(ImportJob job, ImportChunkReport report, long line, String message) {
+        if (job.getReportedErrors() + report.getRowErrors().size() < maxReportedErrors) {
+            report.getRowErrors().add(new ImportRowError(line, message));
+        }
+    }
+
+    private static String summary(ImportProgress progress) {
+        return progress.getImported() + " imported, " + progress.getDuplicates() + " duplicates, "
+                + progress.getInvalid() + " invalid, " + progress.getFailed() + " failed";
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static final class RawRecord {
+
+        private final long line;
+        private final String[] values;
+
+        private RawRecord(long line, String[] values) {
+            this.line = line;
+            this.values = values;
+        }
+    }
+
+    /**
+     * Counts bytes read so the progress can be reported as a share of the file
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
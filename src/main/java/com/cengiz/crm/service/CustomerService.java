@@ -1,27 +1,103 @@
 package com.cengiz.crm.service;
 
+import com.cengiz.crm.config.PaginationProperties;
+import com.cengiz.crm.dto.CustomerFilter;
+import com.cengiz.crm.dto.KeysetPage;
 import com.cengiz.crm.entity.Customer;
+import com.cengiz.crm.enums.CustomerSort;
+import com.cengiz.crm.enums.SearchEntityType;
+import com.cengiz.crm.repository.ActivityRepository;
+import com.cengiz.crm.repository.ContactRepository;
 import com.cengiz.crm.repository.CustomerRepository;
+import com.cengiz.crm.repository.OpportunityProductRepository;
+import com.cengiz.crm.repository.OpportunityRepository;
+import com.cengiz.crm.repository.projection.CustomerListItem;
+import com.cengiz.crm.util.SortKeyCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class CustomerService {
 
     private final CustomerRepository customerRepository;
+    private final ContactRepository contactRepository;
+    private final OpportunityRepository opportunityRepository;
+    private final OpportunityProductRepository opportunityProductRepository;
+    private final ActivityRepository activityRepository;
+    private final DerivedDataService derivedDataService;
+    private final PaginationProperties paginationProperties;
 
     public List<Customer> findAll() {
         return customerRepository.findAll();
     }
 
+    /**
+     * Müşteri listesinin bir sayfası
+     * Sayfalar keyset (sıralama kolonu, id) ile okunur; derin sayfalar da OFFSET taraması yapmaz.
+     * Toplam kayıt sayısı filtresiz listede planner tahmininden, filtreli listede
+     * crm.pagination.count-limit ile sınırlı bir sayımdan gelir.
+     *
+     * @param cursor önceki sayfanın nextCursor değeri, ilk sayfa için null
+     * @param size   istenen sayfa boyutu, crm.pagination ayarlarına göre sınırlanır
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<CustomerListItem> findPage(CustomerFilter filter, CustomerSort sort, String cursor, Integer size) {
+        int pageSize = paginationProperties.resolvePageSize(size);
+        List<CustomerListItem> rows = customerRepository.findPage(filter, sort, SortKeyCursor.decode(cursor), pageSize + 1);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            CustomerListItem last = rows.get(pageSize - 1);
+            nextCursor = new SortKeyCursor(sortKeyOf(last, sort), last.getId()).encode();
+        }
+
+        KeysetPage<CustomerListItem> page = new KeysetPage<>();
+        page.setItems(rows);
+        page.setNextCursor(nextCursor);
+        countMatching(filter, page);
+        return page;
+    }
+
+    private void countMatching(CustomerFilter filter, KeysetPage<?> page) {
+        int countLimit = paginationProperties.getCountLimit();
+        if (filter.isEmpty()) {
+            // Large tables: the planner estimate is free and close enough for "~N kayıt"
+            long estimate = customerRepository.estimateRowCount();
+            if (estimate >= countLimit) {
+                page.setTotal(estimate);
+                page.setTotalExact(false);
+                return;
+            }
+        }
+        long counted = customerRepository.countUpTo(filter, countLimit);
+        page.setTotal(Math.min(counted, countLimit));
+        page.setTotalExact(counted <= countLimit);
+    }
+
+    private String sortKeyOf(CustomerListItem customer, CustomerSort sort) {
+        return "created_at".equals(sort.getColumn())
+                ? customer.getCreatedAt().toString()
+                : customer.getCompanyName();
+    }
+
+    /**
+     * Id ile yükleme filtreyi atladığı için silinmiş müşteriler burada elenir
+     */
     public Optional<Customer> findById(Long id) {
-        return customerRepository.findById(id);
+        return customerRepository.findById(id)
+                .filter(customer -> !Boolean.TRUE.equals(customer.getIsDeleted()));
     }
 
     @Transactional
@@ -33,9 +109,43 @@ public class CustomerService {
         return customerRepository.save(customer);
     }
 
+    /**
+     * Müşteriyi yumuşak siler; @SQLDelete kişi, fırsat ve aktivitelere de uygulanır
+     * ve olay dinleyicileri sayaçları, özetleri ve arama indeksini günceller
+     */
     @Transactional
     public void deleteById(Long id) {
-        customerRepository.deleteById(id);
+        findById(id).ifPresent(customerRepository::delete);
+    }
+
+    /**
+     * Seçilen müşterileri, kişilerini, fırsatlarını (kalemleriyle) ve aktivitelerini
+     * satır satır yüklemeden, tablo başına tek bir UPDATE ile yumuşak siler
+     *
+     * @return silinen müşteri sayısı
+     */
+    @Transactional
+    public int softDeleteAll(Collection<Long> ids, String deletedBy) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Set<Long> owners = new HashSet<>(customerRepository.findAccountManagerIdsByIdIn(ids));
+        owners.addAll(opportunityRepository.findOwnerIdsByCustomerIdIn(ids));
+        owners.addAll(activityRepository.findAssigneeIdsByCustomerIdIn(ids));
+        Map<SearchEntityType, List<Long>> deletedIds = new EnumMap<>(SearchEntityType.class);
+        deletedIds.put(SearchEntityType.CONTACT, contactRepository.findIdsByCustomerIdIn(ids));
+        deletedIds.put(SearchEntityType.OPPORTUNITY, opportunityRepository.findIdsByCustomerIdIn(ids));
+
+        LocalDateTime now = LocalDateTime.now();
+        activityRepository.softDeleteByCustomerIdIn(ids, now, deletedBy);
+        opportunityProductRepository.softDeleteByCustomerIdIn(ids, now, deletedBy);
+        opportunityRepository.softDeleteByCustomerIdIn(ids, now, deletedBy);
+        contactRepository.softDeleteByCustomerIdIn(ids, now, deletedBy);
+        int deleted = customerRepository.softDeleteAllById(ids, now, deletedBy);
+
+        deletedIds.put(SearchEntityType.CUSTOMER, List.copyOf(ids));
+        derivedDataService.refreshAfterBulkDelete(owners, deletedIds);
+        return deleted;
     }
 
     public long count() {
@@ -0,0 +1,165 @@
+package com.cengiz.crm.service;
+
+import com.cengiz.crm.enums.*;
+import com.cengiz.crm.repository.*;
+import com.cengiz.crm.repository.projection.LeadStatusCount;
+import com.cengiz.crm.repository.projection.StageSummary;
+import com.cengiz.crm.repository.projection.StatusCount;
+import com.cengiz.crm.repository.projection.StatusValueSum;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.cengiz.crm.service.DashboardCounterKeys.*;
+
+/**
+ * Gösterge Paneli Toplama Servisi
+ * Gösterge paneli istatistiklerini tablo başına tek bir GROUP BY sorgusu ile hesaplar
+ * 
+ * @author Cengiz
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DashboardAggregationService {
+
+    private final CustomerRepository customerRepository;
+    private final LeadRepository leadRepository;
+    private final OpportunityRepository opportunityRepository;
+    private final ActivityRepository activityRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * Build the dashboard stats map from one grouped query per table.
+     * Totals are derived from the histograms, so they only count live (non-deleted) rows.
+     */
+    public Map<String, Object> aggregate() {
+        return toStats(countFromDatabase());
+    }
+
+    /**
+     * Status histograms and value sums of every dashboard entity, keyed by {@link DashboardCounterKeys}
+     */
+    public Map<String, Long> countFromDatabase() {
+        Map<String, Long> counters = new HashMap<>();
+
+        addCounts(counters, CUSTOMER, customerRepository.countGroupedByStatus());
+        addLeadCounts(counters, leadRepository.countGroupedByStatus());
+        addOpportunitySums(counters, opportunityRepository.sumGroupedByStatus());
+        addCounts(counters, ACTIVITY, activityRepository.countGroupedByStatus());
+        addCounts(counters, USER, userRepository.countGroupedByStatus());
+
+        return counters;
+    }
+
+    /**
+     * Counters of the records owned by one user: customers as account manager, leads and activities
+     * as assignee, opportunities as owner, plus the user's pipeline per opportunity stage
+     */
+    public Map<String, Long> countForUser(Long userId) {
+        Map<String, Long> counters = new HashMap<>();
+
+        addCounts(counters, CUSTOMER, customerRepository.countGroupedByStatusForAccountManager(userId));
+        addLeadCounts(counters, leadRepository.countGroupedByStatusForAssignee(userId));
+        addOpportunitySums(counters, opportunityRepository.sumGroupedByStatusForOwner(userId));
+        addCounts(counters, ACTIVITY, activityRepository.countGroupedByStatusForAssignee(userId));
+
+        for (StageSummary row : opportunityRepository.summarizeByStage(userId, null, null)) {
+            counters.put(stage(OPPORTUNITY, row.getStage()), row.getCount());
+            counters.put(stageValue(OPPORTUNITY, row.getStage()), toCents(row.getTotalValue()));
+            counters.put(stageWeightedValue(OPPORTUNITY, row.getStage()), toCents(row.getWeightedValue()));
+        }
+
+        return counters;
+    }
+
+    /**
+     * Map counters onto the stats keys rendered by the dashboard.
+     * Overdue activities depend on the clock rather than on entity state, so they are always counted live.
+     */
+    public Map<String, Object> toStats(Map<String, Long> counters) {
+        Map<String, Object> stats = toOwnedStats(counters,
+                activityRepository.countOverdueActivities(LocalDateTime.now()));
+
+        // User stats
+        stats.put("totalUsers", total(counters, USER, UserStatus.values()));
+        stats.put("activeUsers", get(counters, status(USER, UserStatus.ACTIVE)));
+
+        return stats;
+    }
+
+    /**
+     * Map one user's rollup counters onto the dashboard stats keys; overdue activities are counted live
+     */
+    public Map<String, Object> toUserStats(Map<String, Long> counters, Long userId) {
+        return toOwnedStats(counters,
+                activityRepository.countOverdueActivitiesForAssignee(LocalDateTime.now(), userId));
+    }
+
+    private Map<String, Object> toOwnedStats(Map<String, Long> counters, long overdueActivities) {
+        Map<String, Object> stats = new HashMap<>();
+
+        // Customer stats
+        stats.put("totalCustomers", total(counters, CUSTOMER, CustomerStatus.values()));
+        stats.put("activeCustomers", get(counters, status(CUSTOMER, CustomerStatus.ACTIVE)));
+
+        // Lead stats
+        stats.put("totalLeads", total(counters, LEAD, LeadStatus.values()));
+        stats.put("newLeads", get(counters, status(LEAD, LeadStatus.NEW)));
+        stats.put("qualifiedLeads", get(counters, status(LEAD, LeadStatus.QUALIFIED)));
+        stats.put("convertedLeads", get(counters, LEAD_CONVERTED));
+
+        // Opportunity stats
+        stats.put("totalOpportunities", total(counters, OPPORTUNITY, OpportunityStatus.values()));
+        stats.put("openOpportunities", get(counters, status(OPPORTUNITY, OpportunityStatus.OPEN)));
+        stats.put("wonOpportunities", get(counters, status(OPPORTUNITY, OpportunityStatus.WON)));
+        stats.put("pipelineValue", fromCents(counters.get(value(OPPORTUNITY, OpportunityStatus.OPEN))));
+        stats.put("wonValue", fromCents(counters.get(value(OPPORTUNITY, OpportunityStatus.WON))));
+
+        // Activity stats
+        stats.put("totalActivities", total(counters, ACTIVITY, ActivityStatus.values()));
+        stats.put("overdueActivities", overdueActivities);
+
+        return stats;
+    }
+
+    private void addLeadCounts(Map<String, Long> counters, List<LeadStatusCount> rows) {
+        for (LeadStatusCount row : rows) {
+            counters.merge(status(LEAD, row.getStatus()), row.getTotal(), Long::sum);
+            if (Boolean.TRUE.equals(row.getConverted())) {
+                counters.merge(LEAD_CONVERTED, row.getTotal(), Long::sum);
+            }
+        }
+    }
+
+    private void addOpportunitySums(Map<String, Long> counters, List<StatusValueSum<OpportunityStatus>> rows) {
+        addCounts(counters, OPPORTUNITY, rows);
+        for (StatusValueSum<OpportunityStatus> row : rows) {
+            counters.merge(value(OPPORTUNITY, row.getStatus()), toCents(row.getTotalValue()), Long::sum);
+        }
+    }
+
+    private <S extends Enum<S>> void addCounts(Map<String, Long> counters, String entity,
+            List<? extends StatusCount<S>> rows) {
+        for (StatusCount<S> row : rows) {
+            counters.merge(status(entity, row.getStatus()), row.getTotal(), Long::sum);
+        }
+    }
+
+    private long total(Map<String, Long> counters, String entity, Enum<?>[] statuses) {
+        long total = 0;
+        for (Enum<?> status : statuses) {
+            total += get(counters, status(entity, status));
+        }
+        return total;
+    }
+
+    private long get(Map<String, Long> counters, String key) {
+        return counters.getOrDefault(key, 0L);
+    }
+}
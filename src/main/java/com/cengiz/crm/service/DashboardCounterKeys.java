@@ -0,0 +1,74 @@
+package com.cengiz.crm.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Gösterge Paneli Sayaç Anahtarları
+ * Sayaç tablosundaki alan adlarını ve parasal değerlerin kuruş cinsinden kodlanmasını tanımlar.
+ * Hem veritabanı toplaması hem de artımlı sayaçlar aynı anahtarları kullanır.
+ *
+ * @author Cengiz
+ */
+public final class DashboardCounterKeys {
+
+    public static final String CUSTOMER = "customer";
+    public static final String LEAD = "lead";
+    public static final String OPPORTUNITY = "opportunity";
+    public static final String ACTIVITY = "activity";
+    public static final String USER = "user";
+
+    public static final String LEAD_CONVERTED = LEAD + ".converted";
+
+    private DashboardCounterKeys() {
+    }
+
+    /**
+     * Number of live rows of an entity in the given status, e.g. "lead.status.NEW"
+     */
+    public static String status(String entity, Enum<?> status) {
+        return entity + ".status." + status.name();
+    }
+
+    /**
+     * Summed value (in cents) of live rows of an entity in the given status, e.g. "opportunity.value.OPEN"
+     */
+    public static String value(String entity, Enum<?> status) {
+        return entity + ".value." + status.name();
+    }
+
+    /**
+     * Number of live rows of an entity in the given stage, e.g. "opportunity.stage.PROPOSAL"
+     */
+    public static String stage(String entity, Enum<?> stage) {
+        return entity + ".stage." + stage.name();
+    }
+
+    /**
+     * Summed value (in cents) of live rows of an entity in the given stage
+     */
+    public static String stageValue(String entity, Enum<?> stage) {
+        return entity + ".stage-value." + stage.name();
+    }
+
+    /**
+     * Summed probability-weighted value (in cents) of live rows of an entity in the given stage
+     */
+    public static String stageWeightedValue(String entity, Enum<?> stage) {
+        return entity + ".stage-weighted." + stage.name();
+    }
+
+    /**
+     * Monetary values are counted in cents so they can be maintained with integer increments
+     */
+    public static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return 0L;
+        }
+        return amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValue();
+    }
+
+    public static BigDecimal fromCents(Long cents) {
+        return cents == null ? BigDecimal.ZERO : BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -0,0 +1,193 @@
+package com.cengiz.crm.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Gösterge Paneli Sayaç Servisi
+ * Durum bazlı sayıları ve değer toplamlarını Redis üzerinde artımlı olarak tutar.
+ * Entity değişiklikleri commit sonrası delta olarak uygulanır, periyodik uzlaştırma
+ * işi ise sayaçları veritabanından yeniden hesaplayarak kaymaları düzeltir.
+ *
+ * @author Cengiz
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardCounterService {
+
+    private static final String COUNTERS_KEY = "crm:dashboard:counters";
+    private static final String RECONCILE_LOCK_KEY = "crm:dashboard:counters:reconcile-lock";
+
+    /**
+     * Adds the corrections (ARGV: field, delta, field, delta, ...) to the live hash in one step,
+     * unless the hash disappeared meanwhile
+     */
+    private static final RedisScript<Long> APPLY_CORRECTIONS = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 0 then return 0 end "
+                    + "for i = 1, #ARGV, 2 do redis.call('hincrby', KEYS[1], ARGV[i], ARGV[i + 1]) end "
+                    + "return 1",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final DashboardAggregationService dashboardAggregationService;
+
+    @Value("${crm.dashboard.counters.enabled:true}")
+    private boolean enabled;
+
+    @Value("${crm.dashboard.counters.reconcile-interval:600000}")
+    private long reconcileInterval;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Current counters in a single Redis round trip.
+     *
+     * @return the counters, or null if they are disabled, not initialized yet or Redis is unavailable
+     */
+    public Map<String, Long> getCounters() {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            HashOperations<String, String, String> hash = redisTemplate.opsForHash();
+            Map<String, String> raw = hash.entries(COUNTERS_KEY);
+            if (raw.isEmpty()) {
+                return null;
+            }
+            Map<String, Long> counters = new HashMap<>(raw.size());
+            raw.forEach((key, value) -> counters.put(key, Long.valueOf(value)));
+            return counters;
+        } catch (DataAccessException e) {
+            log.warn("Dashboard counters could not be read from Redis: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Apply committed entity deltas. Zero deltas are skipped; nothing is written if the
+     * counters have not been initialized yet, since the next reconciliation will include the change.
+     */
+    public void applyDeltas(Map<String, Long> deltas) {
+        if (!enabled || deltas.isEmpty()) {
+            return;
+        }
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(COUNTERS_KEY))) {
+                return;
+            }
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                deltas.forEach((key, delta) -> {
+                    if (delta != 0L) {
+                        redis.hIncrBy(COUNTERS_KEY, key, delta);
+                    }
+                });
+                return null;
+            });
+        } catch (DataAccessException e) {
+            log.warn("Dashboard counter deltas could not be applied, next reconciliation will fix them: {}",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Periodically recompute all counters from the database and swap them in atomically.
+     * Only one node reconciles per interval.
+     */
+    @Scheduled(fixedDelayString = "${crm.dashboard.counters.reconcile-interval:600000}",
+            initialDelayString = "${crm.dashboard.counters.initial-delay:30000}")
+    public void scheduledReconcile() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(RECONCILE_LOCK_KEY,
+                    UUID.randomUUID().toString(), Duration.ofMillis(Math.max(reconcileInterval / 2, 1000L)));
+            if (Boolean.TRUE.equals(acquired)) {
+                reconcile();
+            }
+        } catch (DataAccessException e) {
+            log.warn("Dashboard counter reconciliation skipped: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recompute all counters from the database.
+     * Once the counters exist, the recount is applied as a correction: each counter moves by the
+     * difference between the database count and its value read just before the count. Deltas
+     * applied while the database is being read are kept instead of being overwritten.
+     * Only a change committed during the database read can still be counted twice or missed;
+     * the next reconciliation corrects it.
+     * Before the first reconciliation the values are written to a temporary hash and renamed over
+     * the live one, so readers never see a half-written set of counters.
+     */
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        Map<Object, Object> before = redisTemplate.opsForHash().entries(COUNTERS_KEY);
+        Map<String, Long> counters = dashboardAggregationService.countFromDatabase();
+        // An empty hash does not exist in Redis; keep a marker so "initialized" can be told apart from "missing"
+        counters.putIfAbsent("initialized", 1L);
+
+        if (!before.isEmpty() && applyCorrections(before, counters)) {
+            log.debug("Dashboard counters reconciled ({} keys)", counters.size());
+            return;
+        }
+
+        Map<String, String> values = new HashMap<>(counters.size());
+        counters.forEach((key, value) -> values.put(key, String.valueOf(value)));
+        String tempKey = COUNTERS_KEY + ":" + UUID.randomUUID();
+        try {
+            redisTemplate.opsForHash().putAll(tempKey, values);
+            redisTemplate.rename(tempKey, COUNTERS_KEY);
+            log.debug("Dashboard counters initialized ({} keys)", values.size());
+        } catch (DataAccessException e) {
+            redisTemplate.delete(tempKey);
+            throw e;
+        }
+    }
+
+    /**
+     * @return false if the live hash disappeared and must be written from scratch
+     */
+    private boolean applyCorrections(Map<Object, Object> before, Map<String, Long> counters) {
+        Map<String, Long> corrections = new HashMap<>(counters);
+        before.forEach((key, value) -> corrections.merge((String) key, -Long.parseLong((String) value), Long::sum));
+
+        List<String> args = new ArrayList<>(corrections.size() * 2);
+        corrections.forEach((key, correction) -> {
+            if (correction != 0L) {
+                args.add(key);
+                args.add(String.valueOf(correction));
+            }
+        });
+        if (args.isEmpty()) {
+            return true;
+        }
+        Long applied = redisTemplate.execute(APPLY_CORRECTIONS, Collections.singletonList(COUNTERS_KEY),
+                args.toArray());
+        return Long.valueOf(1L).equals(applied);
+    }
+}
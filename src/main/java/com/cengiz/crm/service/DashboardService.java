@@ -1,17 +1,34 @@
 package com.cengiz.crm.service;
 
-import com.cengiz.crm.entity.Activity;
-import com.cengiz.crm.enums.*;
-import com.cengiz.crm.repository.*;
-import lombok.RequiredArgsConstructor;
+import com.cengiz.crm.cache.TieredCache;
+import com.cengiz.crm.dto.ActivityFeed;
+import com.cengiz.crm.dto.UserDashboard;
+import com.cengiz.crm.enums.OpportunityStage;
+import com.cengiz.crm.repository.ActivityRepository;
+import com.cengiz.crm.repository.OpportunityRepository;
+import com.cengiz.crm.repository.UserRepository;
+import com.cengiz.crm.repository.projection.ActivityFeedItem;
+import com.cengiz.crm.repository.projection.AssigneeCount;
+import com.cengiz.crm.repository.projection.StageSummary;
+import com.cengiz.crm.util.KeysetCursor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.cengiz.crm.service.DashboardCounterKeys.*;
 
 /**
  * Gösterge Paneli Servisi
@@ -20,73 +37,241 @@ import java.util.Map;
  * @author Cengiz
  */
 @Service
-@RequiredArgsConstructor
-@Transactional(readOnly = true)
 public class DashboardService {
 
-    private final CustomerRepository customerRepository;
-    private final LeadRepository leadRepository;
+    private final DashboardAggregationService dashboardAggregationService;
+    private final DashboardCounterService dashboardCounterService;
+    private final UserDashboardRollupService userDashboardRollupService;
     private final OpportunityRepository opportunityRepository;
     private final ActivityRepository activityRepository;
     private final UserRepository userRepository;
+    private final TieredCache<Map<String, Object>> dashboardStatsCache;
+    private final TieredCache<List<StageSummary>> pipelineCache;
+    private final TieredCache<ActivityFeed> activityFeedCache;
+    private final TransactionTemplate readOnlyTransaction;
 
-    public Map<String, Object> getDashboardStats() {
-        Map<String, Object> stats = new HashMap<>();
+    public DashboardService(DashboardAggregationService dashboardAggregationService,
+            DashboardCounterService dashboardCounterService,
+            UserDashboardRollupService userDashboardRollupService,
+            OpportunityRepository opportunityRepository,
+            ActivityRepository activityRepository,
+            UserRepository userRepository,
+            TieredCache<Map<String, Object>> dashboardStatsCache,
+            TieredCache<List<StageSummary>> pipelineCache,
+            TieredCache<ActivityFeed> activityFeedCache,
+            PlatformTransactionManager transactionManager) {
+        this.dashboardAggregationService = dashboardAggregationService;
+        this.dashboardCounterService = dashboardCounterService;
+        this.userDashboardRollupService = userDashboardRollupService;
+        this.opportunityRepository = opportunityRepository;
+        this.activityRepository = activityRepository;
+        this.userRepository = userRepository;
+        this.dashboardStatsCache = dashboardStatsCache;
+        this.pipelineCache = pipelineCache;
+        this.activityFeedCache = activityFeedCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
 
-        // Customer stats
-        stats.put("totalCustomers", customerRepository.count());
-        stats.put("activeCustomers", customerRepository.countByStatus(CustomerStatus.ACTIVE));
+    /**
+     * Dashboard stats, served from the two-tier cache.
+     * Only cache misses open a read-only transaction (and borrow a database connection);
+     * cache hits run without one.
+     */
+    public Map<String, Object> getDashboardStats() {
+        return dashboardStatsCache.get("global", () -> readOnly(this::loadDashboardStats));
+    }
 
-        // Lead stats
-        stats.put("totalLeads", leadRepository.count());
-        stats.put("newLeads", leadRepository.countByStatus(LeadStatus.NEW));
-        stats.put("qualifiedLeads", leadRepository.countByStatus(LeadStatus.QUALIFIED));
-        stats.put("convertedLeads", leadRepository.countConverted());
+    /**
+     * Dashboard stats read from the incrementally maintained counters.
+     * Falls back to the grouped database queries while the counters are unavailable.
+     */
+    private Map<String, Object> loadDashboardStats() {
+        Map<String, Long> counters = dashboardCounterService.getCounters();
+        if (counters == null) {
+            return dashboardAggregationService.aggregate();
+        }
+        return dashboardAggregationService.toStats(counters);
+    }
 
-        // Opportunity stats
-        stats.put("totalOpportunities", opportunityRepository.count());
-        stats.put("openOpportunities", opportunityRepository.countByStatus(OpportunityStatus.OPEN));
-        stats.put("wonOpportunities", opportunityRepository.countByStatus(OpportunityStatus.WON));
+    /**
+     * "My dashboard": stats and pipeline of the records owned by the user with the given login email,
+     * read from the user's precomputed rollup row
+     */
+    public UserDashboard getUserDashboard(String email) {
+        return userDashboardRollupService.getRollup(email)
+                .map(rollup -> new UserDashboard(
+                        dashboardAggregationService.toUserStats(rollup.getCounters(), rollup.getUserId()),
+                        toPipelineSummary(rollup.getCounters())))
+                .orElseGet(UserDashboard::new);
+    }
 
-        BigDecimal totalValue = opportunityRepository.sumValueByStatus(OpportunityStatus.OPEN);
-        stats.put("pipelineValue", totalValue != null ? totalValue : BigDecimal.ZERO);
+    public List<ActivityFeedItem> getRecentActivities(int limit) {
+        return getRecentFeed(null, limit, null).getItems();
+    }
 
-        BigDecimal wonValue = opportunityRepository.sumValueByStatus(OpportunityStatus.WON);
-        stats.put("wonValue", wonValue != null ? wonValue : BigDecimal.ZERO);
+    public List<ActivityFeedItem> getUpcomingActivities(int limit) {
+        return getUpcomingFeed(null, limit, null).getItems();
+    }
 
-        // Activity stats
-        stats.put("totalActivities", activityRepository.count());
-        stats.put("overdueActivities", activityRepository.findOverdueActivities(LocalDateTime.now()).size());
+    /**
+     * Login email to user id, for the "my dashboard" sections
+     */
+    @Transactional(readOnly = true)
+    public Long getUserId(String email) {
+        return userRepository.findIdByEmail(email)
+                .orElseThrow(() -> new IllegalArgumentException("User not found: " + email));
+    }
 
-        // User stats
-        stats.put("totalUsers", userRepository.count());
-        stats.put("activeUsers", userRepository.countByStatus(UserStatus.ACTIVE));
+    /**
+     * Most recently created activities, newest first.
+     * Pass the previous page's {@link ActivityFeed#getNextCursor()} to load more.
+     * The first page of the shared feed is cached; a single assignee's feed is read directly.
+     *
+     * @param assigneeId only activities assigned to this user, or null for all
+     */
+    public ActivityFeed getRecentFeed(String cursor, int limit, Long assigneeId) {
+        if (cursor == null && assigneeId == null) {
+            return activityFeedCache.get("recent:" + limit, () -> readOnly(() -> loadRecentFeed(null, limit, null)));
+        }
+        return readOnly(() -> loadRecentFeed(cursor, limit, assigneeId));
+    }
 
-        return stats;
+    private ActivityFeed loadRecentFeed(String cursor, int limit, Long assigneeId) {
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<ActivityFeedItem> rows;
+        if (assigneeId == null) {
+            rows = after == null
+                    ? activityRepository.findRecentFeed(pageable)
+                    : activityRepository.findRecentFeedBefore(after.getTimestamp(), after.getId(), pageable);
+        } else {
+            rows = after == null
+                    ? activityRepository.findRecentFeedForAssignee(assigneeId, pageable)
+                    : activityRepository.findRecentFeedForAssigneeBefore(assigneeId, after.getTimestamp(),
+                            after.getId(), pageable);
+        }
+        return toFeed(rows, limit, ActivityFeedItem::getCreatedAt);
     }
 
-    public List<Activity> getRecentActivities(int limit) {
-        return activityRepository.findByIsDeletedFalse().stream()
-                .sorted((a1, a2) -> a2.getCreatedAt().compareTo(a1.getCreatedAt()))
-                .limit(limit)
-                .toList();
+    /**
+     * Activities due within the next 7 days, soonest first.
+     * Pass the previous page's {@link ActivityFeed#getNextCursor()} to load more.
+     * The first page of the shared feed is cached; a single assignee's feed is read directly.
+     *
+     * @param assigneeId only activities assigned to this user, or null for all
+     */
+    public ActivityFeed getUpcomingFeed(String cursor, int limit, Long assigneeId) {
+        if (cursor == null && assigneeId == null) {
+            return activityFeedCache.get("upcoming:" + limit,
+                    () -> readOnly(() -> loadUpcomingFeed(null, limit, null)));
+        }
+        return readOnly(() -> loadUpcomingFeed(cursor, limit, assigneeId));
     }
 
-    public List<Activity> getUpcomingActivities(int limit) {
+    private ActivityFeed loadUpcomingFeed(String cursor, int limit, Long assigneeId) {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime endDate = now.plusDays(7);
-        return activityRepository.findByDueDateBetween(now, endDate).stream()
-                .sorted((a1, a2) -> a1.getDueDate().compareTo(a2.getDueDate()))
-                .limit(limit)
-                .toList();
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<ActivityFeedItem> rows;
+        if (assigneeId == null) {
+            rows = after == null
+                    ? activityRepository.findUpcomingFeed(now, endDate, pageable)
+                    : activityRepository.findUpcomingFeedAfter(after.getTimestamp(), after.getId(), endDate,
+                            pageable);
+        } else {
+            rows = after == null
+                    ? activityRepository.findUpcomingFeedForAssignee(assigneeId, now, endDate, pageable)
+                    : activityRepository.findUpcomingFeedForAssigneeAfter(assigneeId, after.getTimestamp(),
+                            after.getId(), endDate, pageable);
+        }
+        return toFeed(rows, limit, ActivityFeedItem::getDueDate);
+    }
+
+    /**
+     * Overdue open activities, longest overdue first.
+     * Pass the previous page's {@link ActivityFeed#getNextCursor()} to load more.
+     */
+    public ActivityFeed getOverdueFeed(String cursor, int limit) {
+        return readOnly(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            Pageable pageable = PageRequest.of(0, limit + 1);
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            List<ActivityFeedItem> rows = after == null
+                    ? activityRepository.findOverdueFeed(now, pageable)
+                    : activityRepository.findOverdueFeedAfter(now, after.getTimestamp(), after.getId(), pageable);
+            return toFeed(rows, limit, ActivityFeedItem::getDueDate);
+        });
+    }
+
+    /**
+     * Overdue activity counts per assignee, or only the given assignee's row
+     *
+     * @param assigneeId only this user, or null for all assignees
+     */
+    @Transactional(readOnly = true)
+    public List<AssigneeCount> getOverdueByAssignee(Long assigneeId) {
+        return assigneeId == null
+                ? activityRepository.countOverdueByAssignee(LocalDateTime.now())
+                : activityRepository.countOverdueByAssignee(LocalDateTime.now(), assigneeId);
     }
 
     public Map<String, Long> getPipelineData() {
-        Map<String, Long> pipelineData = new HashMap<>();
-        for (OpportunityStage stage : OpportunityStage.values()) {
-            long count = opportunityRepository.findByStageAndIsDeletedFalse(stage).size();
-            pipelineData.put(stage.name(), count);
+        Map<String, Long> pipelineData = new LinkedHashMap<>();
+        for (StageSummary summary : getPipelineSummary(null, null, null)) {
+            pipelineData.put(summary.getStage().name(), summary.getCount());
         }
         return pipelineData;
     }
+
+    /**
+     * Pipeline histogram (count, value, weighted value) for every stage in stage order.
+     * All filters are optional.
+     */
+    public List<StageSummary> getPipelineSummary(Long ownerId, LocalDate closeDateFrom, LocalDate closeDateTo) {
+        if (ownerId == null && closeDateFrom == null && closeDateTo == null) {
+            return pipelineCache.get("all", () -> readOnly(() -> loadPipelineSummary(null, null, null)));
+        }
+        return readOnly(() -> loadPipelineSummary(ownerId, closeDateFrom, closeDateTo));
+    }
+
+    private List<StageSummary> loadPipelineSummary(Long ownerId, LocalDate closeDateFrom, LocalDate closeDateTo) {
+        Map<OpportunityStage, StageSummary> byStage = new EnumMap<>(OpportunityStage.class);
+        for (OpportunityStage stage : OpportunityStage.values()) {
+            byStage.put(stage, StageSummary.empty(stage));
+        }
+        for (StageSummary summary : opportunityRepository.summarizeByStage(ownerId, closeDateFrom, closeDateTo)) {
+            byStage.put(summary.getStage(), summary);
+        }
+        return new ArrayList<>(byStage.values());
+    }
+
+    private List<StageSummary> toPipelineSummary(Map<String, Long> counters) {
+        List<StageSummary> summary = new ArrayList<>();
+        for (OpportunityStage stage : OpportunityStage.values()) {
+            summary.add(new StageSummary(stage,
+                    counters.getOrDefault(stage(OPPORTUNITY, stage), 0L),
+                    fromCents(counters.get(stageValue(OPPORTUNITY, stage))),
+                    fromCents(counters.get(stageWeightedValue(OPPORTUNITY, stage)))));
+        }
+        return summary;
+    }
+
+    private <T> T readOnly(Supplier<T> query) {
+        return readOnlyTransaction.execute(status -> query.get());
+    }
+
+    /**
+     * Trim the limit + 1 probe row and turn the last visible row into the next-page cursor
+     */
+    private ActivityFeed toFeed(List<ActivityFeedItem> rows, int limit,
+            Function<ActivityFeedItem, LocalDateTime> sortKey) {
+        if (rows.size() <= limit) {
+            return new ActivityFeed(rows, null);
+        }
+        List<ActivityFeedItem> page = rows.subList(0, limit);
+        ActivityFeedItem last = page.get(limit - 1);
+        return new ActivityFeed(new ArrayList<>(page), new KeysetCursor(sortKey.apply(last), last.getId()).encode());
+    }
 }
@@ -0,0 +1,87 @@
+package com.cengiz.crm.service;
+
+import com.cengiz.crm.enums.SearchEntityType;
+import com.cengiz.crm.search.IndexChange;
+import com.cengiz.crm.search.SearchDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Türetilmiş Veri Servisi
+ * Toplu yazmalar (JDBC batch, JPQL bulk UPDATE) Hibernate olay dinleyicilerini tetiklemez;
+ * bu servis dashboard sayaçlarını, kullanıcı özetlerini ve arama indeksini işlem commit edildikten
+ * sonra yeniler. İşlem dışında çağrılırsa yenileme hemen yapılır.
+ *
+ * @author Cengiz
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DerivedDataService {
+
+    private final DashboardCounterService counterService;
+    private final UserDashboardRollupService rollupService;
+    private final GlobalSearchService globalSearchService;
+
+    /**
+     * Toplu silme sonrası: sayaçlar yeniden hesaplanır, etkilenen kullanıcıların özetleri
+     * yenilenir ve silinen kayıtlar arama indeksinden çıkarılır
+     *
+     * @param ownerIds   silinen kayıtların sahibi/atanan kullanıcıları
+     * @param deletedIds arama indeksindeki türe göre silinen kayıt id'leri
+     */
+    public void refreshAfterBulkDelete(Collection<Long> ownerIds,
+            Map<SearchEntityType, ? extends Collection<Long>> deletedIds) {
+        Set<Long> owners = new HashSet<>(ownerIds);
+        List<IndexChange> changes = new ArrayList<>();
+        deletedIds.forEach((type, ids) ->
+                ids.forEach(id -> changes.add(new IndexChange(SearchDocument.key(type, id), null))));
+        afterCommit(() -> {
+            reconcileCounters();
+            rollupService.refreshAsync(owners);
+            globalSearchService.enqueue(changes);
+        });
+    }
+
+    /**
+     * Toplu içe aktarma sonrası: sayaçlar yeniden hesaplanır ve arama indeksi tüm düğümlerde baştan oluşturulur;
+     * kullanıcı özetleri zamanlanmış yeniden hesaplamaya bırakılır
+     */
+    public void refreshAfterBulkImport() {
+        afterCommit(() -> {
+            reconcileCounters();
+            globalSearchService.rebuildOnAllNodes();
+        });
+    }
+
+    private void reconcileCounters() {
+        try {
+            counterService.reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Dashboard counters not reconciled after bulk change: {}", e.getMessage());
+        }
+    }
+
+    private void afterCommit(Runnable refresh) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh.run();
+            }
+        });
+    }
+}
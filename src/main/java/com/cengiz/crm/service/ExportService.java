@@ -0,0 +1,104 @@
+package com.cengiz.crm.service;
+
+import com.cengiz.crm.entity.Customer;
+import com.cengiz.crm.entity.Lead;
+import com.cengiz.crm.entity.Opportunity;
+import com.cengiz.crm.repository.CustomerRepository;
+import com.cengiz.crm.repository.LeadRepository;
+import com.cengiz.crm.repository.OpportunityRepository;
+import com.cengiz.crm.util.CsvWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Dışa Aktarma Servisi
+ * Müşteri, potansiyel müşteri ve fırsatları CSV olarak doğrudan çıkış akışına yazar.
+ * Satırlar JDBC fetch size ile parça parça okunur ve persistence context her partide
+ * temizlenir; milyonlarca satırda da bellek kullanımı sabit kalır.
+ *
+ * @author Cengiz
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+
+    /**
+     * Bu kadar satırda bir persistence context temizlenir ve yanıt akışı boşaltılır
+     */
+    private static final int CLEAR_INTERVAL = 500;
+
+    private final CustomerRepository customerRepository;
+    private final LeadRepository leadRepository;
+    private final OpportunityRepository opportunityRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public long exportCustomers(OutputStream out) throws IOException {
+        CsvWriter csv = new CsvWriter(out);
+        csv.writeRow("id", "companyName", "customerType", "industry", "email", "phone", "website", "taxNumber",
+                "taxOffice", "city", "country", "status", "rating", "createdAt");
+        try (Stream<Customer> customers = customerRepository.streamAllForExport()) {
+            return writeRows("customers", csv, customers, c -> csv.writeRow(c.getId(), c.getCompanyName(), c.getCustomerType(),
+                    c.getIndustry(), c.getEmail(), c.getPhone(), c.getWebsite(), c.getTaxNumber(), c.getTaxOffice(),
+                    c.getCity(), c.getCountry(), c.getStatus(), c.getRating(), c.getCreatedAt()));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportLeads(OutputStream out) throws IOException {
+        CsvWriter csv = new CsvWriter(out);
+        csv.writeRow("id", "firstName", "lastName", "companyName", "jobTitle", "email", "phone", "source", "status",
+                "rating", "estimatedValue", "isConverted", "createdAt");
+        try (Stream<Lead> leads = leadRepository.streamAllForExport()) {
+            return writeRows("leads", csv, leads, l -> csv.writeRow(l.getId(), l.getFirstName(), l.getLastName(),
+                    l.getCompanyName(), l.getJobTitle(), l.getEmail(), l.getPhone(), l.getSource(), l.getStatus(),
+                    l.getRating(), l.getEstimatedValue(), l.getIsConverted(), l.getCreatedAt()));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportOpportunities(OutputStream out) throws IOException {
+        CsvWriter csv = new CsvWriter(out);
+        csv.writeRow("id", "name", "customer", "value", "stage", "status", "probability", "expectedCloseDate",
+                "owner", "createdAt");
+        try (Stream<Opportunity> opportunities = opportunityRepository.streamAllForExport()) {
+            return writeRows("opportunities", csv, opportunities, o -> csv.writeRow(o.getId(), o.getName(),
+                    o.getCustomer() != null ? o.getCustomer().getCompanyName() : null, o.getValue(), o.getStage(),
+                    o.getStatus(), o.getProbability(), o.getExpectedCloseDate(),
+                    o.getOwner() != null ? o.getOwner().getEmail() : null, o.getCreatedAt()));
+        }
+    }
+
+    private <T> long writeRows(String name, CsvWriter csv, Stream<T> rows, RowWriter<T> rowWriter) throws IOException {
+        long count = 0;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            rowWriter.write(iterator.next());
+            if (++count % CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+                csv.flush();
+            }
+        }
+        csv.flush();
+        log.info("Exported {} {}", count, name);
+        return count;
+    }
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+
+        void write(T row) throws IOException;
+    }
+}
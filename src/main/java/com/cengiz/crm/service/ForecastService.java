@@ -0,0 +1,89 @@
+package com.cengiz.crm.service;
+
+import com.cengiz.crm.cache.TieredCache;
+import com.cengiz.crm.dto.Forecast;
+import com.cengiz.crm.enums.ForecastPeriod;
+import com.cengiz.crm.repository.OpportunityRepository;
+import com.cengiz.crm.repository.projection.ForecastBucket;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gelir Tahmini Servisi
+ * Açık fırsatları beklenen kapanış tarihinin ayına veya çeyreğine göre gruplar;
+ * ham ve olasılık ağırlıklı değerler tek bir gruplu SQL sorgusunda hesaplanır
+ * ve sonuç iki katmanlı önbellekten sunulur.
+ *
+ * @author Cengiz
+ */
+@Service
+@RequiredArgsConstructor
+public class ForecastService {
+
+    /**
+     * Horizon used when no end date is given
+     */
+    public static final int DEFAULT_HORIZON_MONTHS = 12;
+
+    /**
+     * Longest accepted range, bounds the scanned index range
+     */
+    public static final int MAX_HORIZON_MONTHS = 60;
+
+    private final OpportunityRepository opportunityRepository;
+    private final TieredCache<Forecast> forecastCache;
+
+    /**
+     * Forecast starting at the current period
+     */
+    public Forecast getForecast(ForecastPeriod period) {
+        return getForecast(period, null, null, null);
+    }
+
+    /**
+     * Open pipeline per period between the two dates, per owner and stage.
+     * The range is widened to whole periods; both dates are optional.
+     *
+     * @param from    start of the range, defaults to today
+     * @param to      end of the range (exclusive), defaults to {@value #DEFAULT_HORIZON_MONTHS} months after the start
+     * @param ownerId only opportunities owned by this user, or null for all owners
+     * @throws IllegalArgumentException if the range is empty or longer than {@value #MAX_HORIZON_MONTHS} months
+     */
+    public Forecast getForecast(ForecastPeriod period, LocalDate from, LocalDate to, Long ownerId) {
+        LocalDate start = period.startOf(from != null ? from : LocalDate.now());
+        LocalDate end = to != null ? period.startOf(to.minusDays(1)).plusMonths(period.getMonths())
+                : start.plusMonths(DEFAULT_HORIZON_MONTHS);
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("Forecast range is empty");
+        }
+        if (end.isAfter(start.plusMonths(MAX_HORIZON_MONTHS))) {
+            throw new IllegalArgumentException("Forecast range exceeds " + MAX_HORIZON_MONTHS + " months");
+        }
+
+        String key = period + ":" + start + ":" + end + ":" + (ownerId != null ? ownerId : "all");
+        return forecastCache.get(key, () -> loadForecast(period, start, end, ownerId));
+    }
+
+    private Forecast loadForecast(ForecastPeriod period, LocalDate start, LocalDate end, Long ownerId) {
+        List<ForecastBucket> buckets = opportunityRepository.forecast(period, start, end, ownerId);
+
+        Map<LocalDate, ForecastBucket> totals = new LinkedHashMap<>();
+        for (LocalDate periodStart = start; periodStart.isBefore(end);
+                periodStart = periodStart.plusMonths(period.getMonths())) {
+            ForecastBucket total = new ForecastBucket();
+            total.setPeriodStart(periodStart);
+            totals.put(periodStart, total);
+        }
+        for (ForecastBucket bucket : buckets) {
+            totals.get(bucket.getPeriodStart()).add(bucket);
+        }
+
+        return new Forecast(period, start, end, buckets, new ArrayList<>(totals.values()));
+    }
+}
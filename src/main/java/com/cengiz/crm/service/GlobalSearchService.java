@@ -0,0 +1,421 @@
+package com.cengiz.crm.service;
+
+import com.cengiz.crm.dto.GlobalSearchHit;
+import com.cengiz.crm.entity.base.BaseEntity;
+import com.cengiz.crm.enums.SearchEntityType;
+import com.cengiz.crm.repository.ContactRepository;
+import com.cengiz.crm.repository.CustomerRepository;
+import com.cengiz.crm.repository.LeadRepository;
+import com.cengiz.crm.repository.OpportunityRepository;
+import com.cengiz.crm.repository.ProductRepository;
+import com.cengiz.crm.search.GlobalSearchIndex;
+import com.cengiz.crm.search.IndexChange;
+import com.cengiz.crm.search.SearchDocument;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Genel Arama Servisi
+ * Müşteri, kişi, potansiyel müşteri, fırsat ve ürünleri tek bir yerel Lucene indeksinden,
+ * türler arası ortak bir sıralamayla arar; arama yükü PostgreSQL'e gitmez.
+ * <ul>
+ * <li>Commit edilen değişiklikler kuyruğa alınır ve tek bir indeks iş parçacığında sırayla uygulanır.</li>
+ * <li>İndeks her düğümde yereldir: değişen kayıtların anahtarları Redis pub/sub ile yayınlanır, diğer düğümler
+ * bu kayıtları veritabanından okuyup kendi indekslerine uygular. Kaybolan bir mesajı gece yeniden oluşturması düzeltir.</li>
+ * <li>Uygulanamayan bir parti atılmaz; indeks kirli işaretlenir ve hemen yeniden oluşturulur.</li>
+ * <li>Tam yeniden oluşturma tabloları id sırasıyla partiler halinde okur; her parti ayrı bir görevdir,
+ * böylece canlı değişiklikler araya girer ve bekletilmez.</li>
+ * <li>İndeks gecikmesi crm.search.index.lag metriği (saniye) olarak raporlanır.</li>
+ * </ul>
+ *
+ * @author Cengiz
+ */
+@Service
+@Slf4j
+public class GlobalSearchService {
+
+    static final String CHANNEL = "crm:search-index:changes";
+
+    /**
+     * Anahtar yerine gönderildiğinde alıcı düğüm indeksini baştan oluşturur
+     */
+    private static final String REBUILD_ALL = "*";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final GlobalSearchIndex index;
+    private final TaskExecutor searchIndexExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Map<SearchEntityType, BiFunction<Long, Pageable, List<? extends BaseEntity>>> batchLoaders =
+            new EnumMap<>(SearchEntityType.class);
+    private final Map<SearchEntityType, Function<Collection<Long>, List<? extends BaseEntity>>> idLoaders =
+            new EnumMap<>(SearchEntityType.class);
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    private final ObjectProvider<RedisMessageListenerContainer> listenerContainer;
+
+    private final ConcurrentLinkedQueue<IndexChange> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    /**
+     * Bir parti uygulanamadı; indeks bir sonraki yeniden oluşturmaya kadar eksik
+     */
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final Timer indexLatency;
+
+    /**
+     * Yazılan her dokümanın nesli; yeniden oluşturma bitince daha eski nesiller silinir
+     */
+    private volatile long generation = System.currentTimeMillis();
+
+    /**
+     * Şu an uygulanmakta olan partinin en eski kayıt zamanı (nanoTime), yoksa 0
+     */
+    private volatile long applyingSince;
+
+    @Value("${crm.search.max-results:20}")
+    private int maxResults;
+
+    @Value("${crm.search.rebuild-batch-size:500}")
+    private int rebuildBatchSize;
+
+    @Value("${crm.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    public GlobalSearchService(GlobalSearchIndex index,
+            @Qualifier("searchIndexExecutor") TaskExecutor searchIndexExecutor,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            CustomerRepository customerRepository,
+            ContactRepository contactRepository,
+            LeadRepository leadRepository,
+            OpportunityRepository opportunityRepository,
+            ProductRepository productRepository,
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            ObjectProvider<RedisMessageListenerContainer> listenerContainer) {
+        this.index = index;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.searchIndexExecutor = searchIndexExecutor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        batchLoaders.put(SearchEntityType.CUSTOMER, customerRepository::findByIsDeletedFalseAndIdGreaterThanOrderByIdAsc);
+        batchLoaders.put(SearchEntityType.CONTACT, contactRepository::findByIsDeletedFalseAndIdGreaterThanOrderByIdAsc);
+        batchLoaders.put(SearchEntityType.LEAD, leadRepository::findByIsDeletedFalseAndIdGreaterThanOrderByIdAsc);
+        batchLoaders.put(SearchEntityType.OPPORTUNITY,
+                opportunityRepository::findByIsDeletedFalseAndIdGreaterThanOrderByIdAsc);
+        batchLoaders.put(SearchEntityType.PRODUCT, productRepository::findByIsDeletedFalseAndIdGreaterThanOrderByIdAsc);
+        idLoaders.put(SearchEntityType.CUSTOMER, customerRepository::findAllById);
+        idLoaders.put(SearchEntityType.CONTACT, contactRepository::findAllById);
+        idLoaders.put(SearchEntityType.LEAD, leadRepository::findAllById);
+        idLoaders.put(SearchEntityType.OPPORTUNITY, opportunityRepository::findAllById);
+        idLoaders.put(SearchEntityType.PRODUCT, productRepository::findAllById);
+
+        Gauge.builder("crm.search.index.lag", this, GlobalSearchService::lagSeconds)
+                .description("Age of the oldest committed change not yet searchable")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("crm.search.index.pending", pendingCount, AtomicInteger::get)
+                .description("Committed changes waiting for the search index")
+                .register(meterRegistry);
+        Gauge.builder("crm.search.index.documents", index, GlobalSearchIndex::documentCount)
+                .description("Documents in the global search index")
+                .register(meterRegistry);
+        this.indexLatency = Timer.builder("crm.search.index.latency")
+                .description("Time from commit until a change is searchable")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.ifAvailable(container -> container.addMessageListener(
+                (message, pattern) -> onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CHANNEL)));
+    }
+
+    /**
+     * Türler arası en iyi eşleşmeler; her kelime önek olarak eşleşir
+     *
+     * @param types boşsa tüm türler
+     */
+    public List<GlobalSearchHit> search(String text, Collection<SearchEntityType> types, Integer limit) {
+        int resolvedLimit = limit == null || limit < 1 ? maxResults : Math.min(limit, maxResults);
+        try {
+            return index.search(text, types, resolvedLimit);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Global search failed", e);
+        }
+    }
+
+    /**
+     * Commit edilmiş değişiklikleri indeks kuyruğuna ekler ve anahtarlarını diğer düğümlere yayınlar
+     * (SearchIndexListener çağırır)
+     */
+    public void enqueue(Collection<IndexChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        enqueueLocally(changes);
+        broadcast(changes);
+    }
+
+    private void enqueueLocally(Collection<IndexChange> changes) {
+        pending.addAll(changes);
+        pendingCount.addAndGet(changes.size());
+        if (drainScheduled.compareAndSet(false, true)) {
+            searchIndexExecutor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Tam yeniden oluşturmayı başlatır
+     *
+     * @return zaten çalışan bir yeniden oluşturma varsa false
+     */
+    public boolean rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        // Bu yeniden oluşturma tabloları baştan okur; öncesinde atılan partileri de kapsar
+        dirty.set(false);
+        generation = System.currentTimeMillis();
+        RebuildProgress progress = new RebuildProgress(generation, Arrays.asList(SearchEntityType.values()));
+        log.info("Global search index rebuild started (generation {})", progress.generation);
+        searchIndexExecutor.execute(() -> rebuildBatch(progress));
+        return true;
+    }
+
+    /**
+     * Toplu değişikliklerden sonra: indeksi bu düğümde ve diğer düğümlerde yeniden oluşturur.
+     * Çalışan bir yeniden oluşturma varsa o bittikten sonra bir kez daha çalışır.
+     */
+    public void rebuildOnAllNodes() {
+        dirty.set(true);
+        rebuild();
+        publish(REBUILD_ALL, "Search index rebuild not broadcast, other nodes catch up at the next rebuild");
+    }
+
+    public boolean isRebuilding() {
+        return rebuilding.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (rebuildOnStartup && index.documentCount() == 0) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(cron = "${crm.search.rebuild-cron:0 30 3 * * *}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    private void drain() {
+        // Cleared before polling: changes enqueued from now on schedule another drain
+        drainScheduled.set(false);
+        List<IndexChange> batch = new ArrayList<>();
+        IndexChange change;
+        while ((change = pending.poll()) != null) {
+            batch.add(change);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        applyingSince = batch.get(0).getRecordedAt();
+        try {
+            for (IndexChange c : resolveReloads(batch)) {
+                if (c.isDelete()) {
+                    index.delete(c.getKey());
+                } else {
+                    index.upsert(c.getDocument(), generation);
+                }
+            }
+            index.commit();
+            long now = System.nanoTime();
+            batch.forEach(c -> indexLatency.record(now - c.getRecordedAt(), TimeUnit.NANOSECONDS));
+        } catch (IOException | RuntimeException e) {
+            // Retrying the same batch could fail the same way; a rebuild rereads every row instead
+            log.error("Could not apply {} changes to the global search index, rebuilding it", batch.size(), e);
+            dirty.set(true);
+            rebuild();
+        } finally {
+            applyingSince = 0;
+            pendingCount.addAndGet(-batch.size());
+        }
+    }
+
+    private void rebuildBatch(RebuildProgress progress) {
+        try {
+            SearchEntityType type = progress.remaining.peekFirst();
+            List<SearchDocument> documents = readOnlyTransaction.execute(status ->
+                    batchLoaders.get(type).apply(progress.afterId, PageRequest.of(0, rebuildBatchSize)).stream()
+                            .map(SearchDocument::of)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toList()));
+            for (SearchDocument document : documents) {
+                index.upsert(document, progress.generation);
+            }
+            progress.indexed += documents.size();
+
+            if (documents.size() < rebuildBatchSize) {
+                progress.remaining.removeFirst();
+                progress.afterId = 0L;
+            } else {
+                progress.afterId = documents.get(documents.size() - 1).getId();
+            }
+
+            if (progress.remaining.isEmpty()) {
+                index.deleteOlderThan(progress.generation);
+                index.commit();
+                rebuilding.set(false);
+                log.info("Global search index rebuilt: {} documents in {} ms", progress.indexed,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - progress.startedAt));
+                if (dirty.get()) {
+                    // A batch failed while this rebuild was running, possibly after its type was read
+                    rebuild();
+                }
+            } else {
+                searchIndexExecutor.execute(() -> rebuildBatch(progress));
+            }
+        } catch (IOException | RuntimeException e) {
+            rebuilding.set(false);
+            log.error("Global search index rebuild failed after {} documents", progress.indexed, e);
+        }
+    }
+
+    /**
+     * Diğer düğümlerden gelen değişiklikleri veritabanından okunmuş dokümanlarla değiştirir.
+     * Okunamayan veya silinmiş kayıtlar indeksten silinir.
+     */
+    private List<IndexChange> resolveReloads(List<IndexChange> batch) {
+        Map<SearchEntityType, List<Long>> reloadIds = new EnumMap<>(SearchEntityType.class);
+        for (IndexChange c : batch) {
+            if (c.isReload()) {
+                int colon = c.getKey().indexOf(':');
+                reloadIds.computeIfAbsent(SearchEntityType.valueOf(c.getKey().substring(0, colon)),
+                        type -> new ArrayList<>()).add(Long.valueOf(c.getKey().substring(colon + 1)));
+            }
+        }
+        if (reloadIds.isEmpty()) {
+            return batch;
+        }
+        Map<String, SearchDocument> documents = readOnlyTransaction.execute(status -> {
+            Map<String, SearchDocument> loaded = new HashMap<>();
+            reloadIds.forEach((type, ids) -> idLoaders.get(type).apply(ids).stream()
+                    .map(SearchDocument::of)
+                    .filter(Objects::nonNull)
+                    .forEach(document -> loaded.put(document.getKey(), document)));
+            return loaded;
+        });
+        return batch.stream()
+                .map(c -> c.isReload() ? new IndexChange(c.getKey(), documents.get(c.getKey())) : c)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Mesaj biçimi: {@code <düğüm kimliği> <anahtar> <anahtar> ...}; düğüm kendi mesajlarını yok sayar
+     */
+    private void broadcast(Collection<IndexChange> changes) {
+        String keys = changes.stream().map(IndexChange::getKey).collect(Collectors.joining(" "));
+        publish(keys, "Search index changes not broadcast, other nodes miss " + changes.size()
+                + " changes until the next rebuild");
+    }
+
+    private void publish(String payload, String failureMessage) {
+        StringRedisTemplate template = redisTemplate.getIfAvailable();
+        if (template == null) {
+            return;
+        }
+        try {
+            template.convertAndSend(CHANNEL, nodeId + " " + payload);
+        } catch (DataAccessException e) {
+            log.warn("{}: {}", failureMessage, e.getMessage());
+        }
+    }
+
+    private void onMessage(String message) {
+        String[] parts = message.split(" ");
+        if (parts.length < 2 || parts[0].equals(nodeId)) {
+            return;
+        }
+        if (REBUILD_ALL.equals(parts[1])) {
+            dirty.set(true);
+            rebuild();
+            return;
+        }
+        List<IndexChange> changes = new ArrayList<>(parts.length - 1);
+        for (int i = 1; i < parts.length; i++) {
+            changes.add(IndexChange.reload(parts[i]));
+        }
+        enqueueLocally(changes);
+    }
+
+    private double lagSeconds() {
+        long oldest = applyingSince;
+        IndexChange head = pending.peek();
+        if (oldest == 0 && head != null) {
+            oldest = head.getRecordedAt();
+        }
+        return oldest == 0 ? 0 : (System.nanoTime() - oldest) / 1e9;
+    }
+
+    /**
+     * Yeniden oluşturmanın ilerleyişi; yalnızca indeks iş parçacığında değiştirilir
+     */
+    private static final class RebuildProgress {
+
+        private final long generation;
+        private final Deque<SearchEntityType> remaining;
+        private final long startedAt = System.nanoTime();
+        private long afterId;
+        private long indexed;
+
+        private RebuildProgress(long generation, List<SearchEntityType> types) {
+            this.generation = generation;
+            this.remaining = new ArrayDeque<>(types);
+        }
+    }
+}
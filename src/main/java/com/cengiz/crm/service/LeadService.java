@@ -1,13 +1,26 @@
 package com.cengiz.crm.service;
 
+import com.cengiz.crm.config.PaginationProperties;
+import com.cengiz.crm.dto.KeysetPage;
+import com.cengiz.crm.dto.LeadFacets;
+import com.cengiz.crm.dto.LeadFilter;
 import com.cengiz.crm.entity.Lead;
+import com.cengiz.crm.enums.LeadSource;
+import com.cengiz.crm.enums.LeadStatus;
+import com.cengiz.crm.enums.SearchEntityType;
 import com.cengiz.crm.repository.LeadRepository;
+import com.cengiz.crm.repository.projection.FacetCount;
+import com.cengiz.crm.repository.projection.LeadListItem;
+import com.cengiz.crm.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -15,13 +28,73 @@ import java.util.Optional;
 public class LeadService {
 
     private final LeadRepository leadRepository;
+    private final DerivedDataService derivedDataService;
+    private final PaginationProperties paginationProperties;
 
     public List<Lead> findAll() {
         return leadRepository.findAll();
     }
 
+    /**
+     * Potansiyel müşteri gelen kutusunun bir sayfası, en yeni önce
+     * Sayfalar (created_at, id) keyset ile okunur, derin sayfalar da OFFSET taraması yapmaz.
+     *
+     * @param cursor önceki sayfanın nextCursor değeri, ilk sayfa için null
+     * @param size   istenen sayfa boyutu, crm.pagination ayarlarına göre sınırlanır
+     * @param total  filtreye uyan kayıt sayısı, {@link #getFacets(LeadFilter)} sonucundan
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<LeadListItem> findInboxPage(LeadFilter filter, String cursor, Integer size, long total) {
+        int pageSize = paginationProperties.resolvePageSize(size);
+        List<LeadListItem> rows = leadRepository.findInboxPage(filter, KeysetCursor.decode(cursor), pageSize + 1);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            LeadListItem last = rows.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new KeysetPage<>(rows, nextCursor, total, true);
+    }
+
+    /**
+     * Potansiyel müşterilerin durum, kaynak, atanan kişi ve dönüşüm bazında sayıları; her boyut
+     * yalnızca diğer boyutların filtreleriyle sayılır. Tek bir GROUPING SETS sorgusuyla hesaplanır
+     */
+    @Transactional(readOnly = true)
+    public LeadFacets getFacets(LeadFilter filter) {
+        LeadFacets facets = new LeadFacets();
+        for (FacetCount facet : leadRepository.countFacets(filter)) {
+            switch (facet.getFacet()) {
+                case LeadRepository.FACET_STATUS:
+                    facets.getStatusCounts().put(LeadStatus.valueOf(facet.getValue()), facet.getCount());
+                    break;
+                case LeadRepository.FACET_SOURCE:
+                    if (facet.getValue() != null) {
+                        facets.getSourceCounts().put(LeadSource.valueOf(facet.getValue()), facet.getCount());
+                    }
+                    break;
+                case LeadRepository.FACET_ASSIGNEE:
+                    facets.getAssigneeCounts().add(facet);
+                    break;
+                default:
+                    if (Boolean.parseBoolean(facet.getValue())) {
+                        facets.setConvertedCount(facets.getConvertedCount() + facet.getCount());
+                    } else {
+                        facets.setOpenCount(facets.getOpenCount() + facet.getCount());
+                    }
+            }
+        }
+        facets.getAssigneeCounts().sort(Comparator.comparingLong(FacetCount::getCount).reversed());
+        return facets;
+    }
+
+    /**
+     * Id ile yükleme filtreyi atladığı için silinmiş kayıtlar burada elenir
+     */
     public Optional<Lead> findById(Long id) {
-        return leadRepository.findById(id);
+        return leadRepository.findById(id)
+                .filter(lead -> !Boolean.TRUE.equals(lead.getIsDeleted()));
     }
 
     @Transactional
@@ -33,9 +106,28 @@ public class LeadService {
         return leadRepository.save(lead);
     }
 
+    /**
+     * Potansiyel müşteriyi @SQLDelete ile yumuşak siler; olay dinleyicileri türetilmiş verileri günceller
+     */
     @Transactional
     public void deleteById(Long id) {
-        leadRepository.deleteById(id);
+        findById(id).ifPresent(leadRepository::delete);
+    }
+
+    /**
+     * Seçilen potansiyel müşterileri tek bir UPDATE ile yumuşak siler
+     *
+     * @return silinen kayıt sayısı
+     */
+    @Transactional
+    public int softDeleteAll(Collection<Long> ids, String deletedBy) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Long> assignees = leadRepository.findAssigneeIdsByIdIn(ids);
+        int deleted = leadRepository.softDeleteAllById(ids, LocalDateTime.now(), deletedBy);
+        derivedDataService.refreshAfterBulkDelete(assignees, Map.of(SearchEntityType.LEAD, ids));
+        return deleted;
     }
 
     public long count() {
@@ -0,0 +1,80 @@
+package com.cengiz.crm.service;
+
+import com.cengiz.crm.cache.CatalogProduct;
+import com.cengiz.crm.cache.ProductCatalog;
+import com.cengiz.crm.entity.Opportunity;
+import com.cengiz.crm.entity.OpportunityProduct;
+import com.cengiz.crm.repository.OpportunityProductRepository;
+import com.cengiz.crm.repository.OpportunityRepository;
+import com.cengiz.crm.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fırsat Kalemi Servisi
+ * Teklif kalemlerinin birim fiyatı ve vergi oranı bellek içi ürün kataloğundan okunur;
+ * fiyatlandırma için veritabanına gidilmez, ürün yalnızca referans olarak bağlanır.
+ *
+ * @author Cengiz
+ */
+@Service
+@RequiredArgsConstructor
+public class OpportunityProductService {
+
+    private final ProductCatalog productCatalog;
+    private final ProductRepository productRepository;
+    private final OpportunityRepository opportunityRepository;
+    private final OpportunityProductRepository opportunityProductRepository;
+
+    /**
+     * Ürün kodu başına adetlerden kaydedilmemiş, fiyatlandırılmış teklif kalemleri
+     * Tüm kalemler aynı katalog sürümünden fiyatlandırılır.
+     */
+    public List<OpportunityProduct> quote(Map<String, Integer> quantitiesByProductCode) {
+        ProductCatalog.Snapshot catalog = productCatalog.snapshot();
+        List<OpportunityProduct> lineItems = new ArrayList<>(quantitiesByProductCode.size());
+        quantitiesByProductCode.forEach((productCode, quantity) ->
+                lineItems.add(newLineItem(catalog, productCode, quantity, BigDecimal.ZERO)));
+        return lineItems;
+    }
+
+    /**
+     * Fırsata katalog fiyatıyla yeni bir kalem ekler
+     *
+     * @param discountPercentage indirim yüzdesi, yoksa null
+     */
+    @Transactional
+    public OpportunityProduct addLineItem(Long opportunityId, String productCode, int quantity,
+            BigDecimal discountPercentage) {
+        Opportunity opportunity = opportunityRepository.findById(opportunityId)
+                .filter(found -> !Boolean.TRUE.equals(found.getIsDeleted()))
+                .orElseThrow(() -> new IllegalArgumentException("Opportunity not found: " + opportunityId));
+        OpportunityProduct lineItem = newLineItem(productCatalog.snapshot(), productCode, quantity,
+                discountPercentage != null ? discountPercentage : BigDecimal.ZERO);
+        lineItem.setOpportunity(opportunity);
+        return opportunityProductRepository.save(lineItem);
+    }
+
+    private OpportunityProduct newLineItem(ProductCatalog.Snapshot catalog, String productCode, int quantity,
+            BigDecimal discountPercentage) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive: " + productCode);
+        }
+        CatalogProduct product = catalog.findByProductCode(productCode)
+                .filter(CatalogProduct::isActive)
+                .orElseThrow(() -> new IllegalArgumentException("No active product with code " + productCode));
+        return OpportunityProduct.builder()
+                .product(productRepository.getReferenceById(product.getId()))
+                .quantity(quantity)
+                .unitPrice(product.getUnitPrice())
+                .discountPercentage(discountPercentage)
+                .taxRate(product.getTaxRate())
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.cengiz.crm.service;
+
+import com.cengiz.crm.config.PaginationProperties;
+import com.cengiz.crm.entity.Contact;
+import com.cengiz.crm.entity.Customer;
+import com.cengiz.crm.entity.Lead;
+import com.cengiz.crm.entity.Opportunity;
+import com.cengiz.crm.entity.Product;
+import com.cengiz.crm.entity.User;
+import com.cengiz.crm.repository.ContactRepository;
+import com.cengiz.crm.repository.CustomerRepository;
+import com.cengiz.crm.repository.LeadRepository;
+import com.cengiz.crm.repository.OpportunityRepository;
+import com.cengiz.crm.repository.ProductRepository;
+import com.cengiz.crm.repository.UserRepository;
+import com.cengiz.crm.util.FullTextQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Arama Servisi
+ * PostgreSQL tam metin araması (tsvector + GIN indeksi) ile sıralı ve sayfalı arama sağlar.
+ * Girilen her kelime önek olarak eşleşir; sonuçlar ts_rank'e göre en iyi eşleşme önce gelir.
+ *
+ * @author Cengiz
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SearchService {
+
+    private final CustomerRepository customerRepository;
+    private final LeadRepository leadRepository;
+    private final ContactRepository contactRepository;
+    private final UserRepository userRepository;
+    private final ProductRepository productRepository;
+    private final OpportunityRepository opportunityRepository;
+    private final PaginationProperties paginationProperties;
+
+    public List<Customer> searchCustomers(String text, int page, Integer size) {
+        return search(text, page, size, customerRepository::searchCustomers);
+    }
+
+    public List<Lead> searchLeads(String text, int page, Integer size) {
+        return search(text, page, size, leadRepository::searchLeads);
+    }
+
+    public List<Contact> searchContacts(String text, int page, Integer size) {
+        return search(text, page, size, contactRepository::searchContacts);
+    }
+
+    public List<User> searchUsers(String text, int page, Integer size) {
+        return search(text, page, size, userRepository::searchUsers);
+    }
+
+    public List<Product> searchProducts(String text, int page, Integer size) {
+        return search(text, page, size, productRepository::searchProducts);
+    }
+
+    public List<Opportunity> searchOpportunities(String text, int page, Integer size) {
+        return search(text, page, size, opportunityRepository::searchOpportunities);
+    }
+
+    /**
+     * Aranabilir kelime içermeyen girişler veritabanına gitmeden boş sonuç döner
+     */
+    private <T> List<T> search(String text, int page, Integer size, BiFunction<String, Pageable, List<T>> query) {
+        String tsQuery = FullTextQuery.prefixQuery(text);
+        if (tsQuery == null) {
+            return Collections.emptyList();
+        }
+        Pageable pageable = PageRequest.of(Math.max(page, 0), paginationProperties.resolvePageSize(size));
+        return query.apply(tsQuery, pageable);
+    }
+}
@@ -0,0 +1,87 @@
+package com.cengiz.crm.service;
+
+import com.cengiz.crm.repository.ContactRepository;
+import com.cengiz.crm.repository.CustomerRepository;
+import com.cengiz.crm.repository.ProductRepository;
+import com.cengiz.crm.repository.projection.LookupOption;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Otomatik Tamamlama Servisi
+ * Müşteri, kişi ve ürün seçicileri için pg_trgm indeksli, id/etiket döndüren hızlı arama.
+ * Sonuç sayısı crm.typeahead.max-results ile sınırlıdır; crm.typeahead.min-length'ten kısa
+ * girişler indeksi kullanamayacağı için veritabanına gitmeden boş döner.
+ *
+ * @author Cengiz
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TypeaheadService {
+
+    private final CustomerRepository customerRepository;
+    private final ContactRepository contactRepository;
+    private final ProductRepository productRepository;
+
+    @Value("${crm.typeahead.min-length:3}")
+    private int minLength;
+
+    @Value("${crm.typeahead.max-results:10}")
+    private int maxResults;
+
+    public List<LookupOption> customers(String term, Integer limit) {
+        String normalized = normalize(term);
+        if (normalized == null) {
+            return Collections.emptyList();
+        }
+        return customerRepository.findTypeahead(containsPattern(normalized), normalized, resolveLimit(limit));
+    }
+
+    /**
+     * @param customerId verilirse yalnızca bu müşterinin kişileri
+     */
+    public List<LookupOption> contacts(String term, Long customerId, Integer limit) {
+        String normalized = normalize(term);
+        if (normalized == null) {
+            return Collections.emptyList();
+        }
+        return customerId == null
+                ? contactRepository.findTypeahead(containsPattern(normalized), normalized, resolveLimit(limit))
+                : contactRepository.findTypeaheadForCustomer(customerId, containsPattern(normalized), normalized,
+                        resolveLimit(limit));
+    }
+
+    public List<LookupOption> products(String term, Integer limit) {
+        String normalized = normalize(term);
+        if (normalized == null) {
+            return Collections.emptyList();
+        }
+        return productRepository.findTypeahead(containsPattern(normalized), normalized, resolveLimit(limit));
+    }
+
+    private String normalize(String term) {
+        if (term == null) {
+            return null;
+        }
+        String trimmed = term.trim();
+        return trimmed.length() < minLength ? null : trimmed;
+    }
+
+    private int resolveLimit(Integer limit) {
+        return limit == null || limit < 1 ? maxResults : Math.min(limit, maxResults);
+    }
+
+    /**
+     * ILIKE '%term%' deseni; kullanıcının yazdığı %, _ ve \ karakterleri joker olarak yorumlanmaz
+     */
+    private String containsPattern(String term) {
+        String escaped = term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -0,0 +1,152 @@
+package com.cengiz.crm.service;
+
+import com.cengiz.crm.entity.UserDashboardRollup;
+import com.cengiz.crm.repository.UserDashboardRollupRepository;
+import com.cengiz.crm.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Kullanıcı Gösterge Paneli Özet Servisi
+ * Her kullanıcının sahip olduğu kayıtlara ait sayaçları tek satırda tutar.
+ * Sahiplik veya durum değişikliklerinde ilgili kullanıcıların satırları commit sonrası
+ * yeniden hesaplanır; periyodik yeniden oluşturma işi kaçan güncellemeleri telafi eder.
+ *
+ * @author Cengiz
+ */
+@Service
+@Slf4j
+public class UserDashboardRollupService {
+
+    private static final String REBUILD_LOCK_KEY = "crm:dashboard:rollups:rebuild-lock";
+
+    private final UserDashboardRollupRepository rollupRepository;
+    private final UserRepository userRepository;
+    private final DashboardAggregationService dashboardAggregationService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor rollupExecutor;
+
+    private final StringRedisTemplate redisTemplate;
+
+    public UserDashboardRollupService(UserDashboardRollupRepository rollupRepository, UserRepository userRepository,
+            DashboardAggregationService dashboardAggregationService, PlatformTransactionManager transactionManager,
+            @Qualifier("rollupExecutor") TaskExecutor rollupExecutor, StringRedisTemplate redisTemplate) {
+        this.rollupRepository = rollupRepository;
+        this.userRepository = userRepository;
+        this.dashboardAggregationService = dashboardAggregationService;
+        // Refreshes are triggered after commit; with a full queue CallerRunsPolicy runs them on the committing
+        // thread, whose finished transaction is still bound. REQUIRES_NEW keeps them from joining it.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.rollupExecutor = rollupExecutor;
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Value("${crm.dashboard.rollups.enabled:true}")
+    private boolean enabled;
+
+    @Value("${crm.dashboard.rollups.rebuild-interval:3600000}")
+    private long rebuildInterval;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Rollup row of the user with the given login email, built on first access.
+     * With rollups disabled the counters are computed live and not stored.
+     */
+    public Optional<UserDashboardRollup> getRollup(String email) {
+        if (!enabled) {
+            return userRepository.findByEmailAndIsDeletedFalse(email).map(user -> computeLive(user.getId()));
+        }
+        Optional<UserDashboardRollup> rollup = rollupRepository.findByUserEmail(email);
+        if (rollup.isPresent()) {
+            return rollup;
+        }
+        return userRepository.findByEmailAndIsDeletedFalse(email).map(user -> refresh(user.getId()));
+    }
+
+    /**
+     * Recompute one user's rollup from the source tables.
+     * The row is locked before the counts are read, so concurrent refreshes of the same user run
+     * one after another and the last one to commit has seen every change committed before it.
+     */
+    public UserDashboardRollup refresh(Long userId) {
+        return transactionTemplate.execute(status -> {
+            rollupRepository.insertIfAbsent(userId);
+            UserDashboardRollup rollup = rollupRepository.findByUserIdForUpdate(userId)
+                    .orElseThrow(() -> new IllegalStateException("Rollup row missing for user " + userId));
+            rollup.setCounters(dashboardAggregationService.countForUser(userId));
+            rollup.setRefreshedAt(LocalDateTime.now());
+            return rollup;
+        });
+    }
+
+    /**
+     * Recompute the given users' rollups in the background
+     */
+    public void refreshAsync(Collection<Long> userIds) {
+        if (!enabled || userIds.isEmpty()) {
+            return;
+        }
+        rollupExecutor.execute(() -> userIds.forEach(this::refreshQuietly));
+    }
+
+    /**
+     * Periodically recompute every live user's rollup.
+     * Only one node rebuilds per interval.
+     */
+    @Scheduled(fixedDelayString = "${crm.dashboard.rollups.rebuild-interval:3600000}",
+            initialDelayString = "${crm.dashboard.rollups.initial-delay:60000}")
+    public void scheduledRebuild() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(REBUILD_LOCK_KEY,
+                    UUID.randomUUID().toString(), Duration.ofMillis(Math.max(rebuildInterval / 2, 1000L)));
+            if (!Boolean.TRUE.equals(acquired)) {
+                return;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Dashboard rollup rebuild skipped: {}", e.getMessage());
+            return;
+        }
+        List<Long> userIds = userRepository.findActiveIds();
+        userIds.forEach(this::refreshQuietly);
+        log.info("Rebuilt dashboard rollups of {} users", userIds.size());
+    }
+
+    private UserDashboardRollup computeLive(Long userId) {
+        UserDashboardRollup rollup = new UserDashboardRollup();
+        rollup.setUserId(userId);
+        rollup.setCounters(dashboardAggregationService.countForUser(userId));
+        rollup.setRefreshedAt(LocalDateTime.now());
+        return rollup;
+    }
+
+    private void refreshQuietly(Long userId) {
+        try {
+            refresh(userId);
+        } catch (RuntimeException e) {
+            log.warn("Dashboard rollup of user {} could not be refreshed: {}", userId, e.getMessage());
+        }
+    }
+}
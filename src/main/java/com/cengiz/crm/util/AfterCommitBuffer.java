@@ -0,0 +1,58 @@
+package com.cengiz.crm.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Per-transaction buffer that is flushed only after a successful commit
+ * Changes collected during a transaction (e.g. from Hibernate event listeners) are
+ * accumulated into one buffer per transaction and handed to the flusher after commit;
+ * rolled back transactions are discarded. Outside a transaction the change is flushed immediately.
+ *
+ * @param <T> buffer type
+ */
+public class AfterCommitBuffer<T> {
+
+    private final Supplier<T> factory;
+    private final Consumer<T> flusher;
+
+    public AfterCommitBuffer(Supplier<T> factory, Consumer<T> flusher) {
+        this.factory = factory;
+        this.flusher = flusher;
+    }
+
+    /**
+     * Record a change into the buffer of the current transaction
+     */
+    public void update(Consumer<T> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            T buffer = factory.get();
+            change.accept(buffer);
+            flusher.accept(buffer);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        T buffer = (T) TransactionSynchronizationManager.getResource(this);
+        if (buffer == null) {
+            T created = factory.get();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    flusher.accept(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AfterCommitBuffer.this);
+                }
+            });
+            buffer = created;
+        }
+        change.accept(buffer);
+    }
+}
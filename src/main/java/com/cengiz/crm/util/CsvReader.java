@@ -0,0 +1,139 @@
+package com.cengiz.crm.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 CSV reader
+ * Reads one record at a time, so files of any size are parsed in constant memory.
+ * Quoted fields may contain separators, doubled quotes and line breaks; a leading UTF-8
+ * byte order mark is skipped. Both comma and semicolon separated files are accepted,
+ * the separator is taken from the header line.
+ */
+public class CsvReader implements Closeable {
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private char separator = ',';
+    private boolean separatorDetected;
+    private int pushedBack = EOF - 1;
+    private long line = 1;
+    private long recordLine;
+
+    public CsvReader(InputStream inputStream) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Next record, or null at the end of the input
+     */
+    public String[] readRecord() throws IOException {
+        int c = read();
+        if (c == '\uFEFF' && line == 1 && recordLine == 0) {
+            c = read();
+        }
+        while (c == '\r' || c == '\n') {
+            c = skipLineEnd(c);
+        }
+        if (c == EOF) {
+            return null;
+        }
+        recordLine = line;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStart = true;
+        while (true) {
+            if (quoted) {
+                if (c == EOF) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+            } else if (c == EOF || c == '\r' || c == '\n') {
+                fields.add(field.toString());
+                if (c != EOF) {
+                    pushedBack = skipLineEnd(c);
+                }
+                break;
+            } else if (isSeparator(c)) {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+                c = read();
+                continue;
+            } else {
+                field.append((char) c);
+            }
+            fieldStart = false;
+            c = read();
+        }
+        separatorDetected = true;
+        return fields.toArray(new String[0]);
+    }
+
+    /**
+     * Line number on which the last returned record started (1-based)
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private boolean isSeparator(int c) {
+        if (!separatorDetected && (c == ',' || c == ';')) {
+            separator = (char) c;
+            separatorDetected = true;
+        }
+        return c == separator;
+    }
+
+    /**
+     * Consume a line end (\n, \r or \r\n) starting with c and return the character after it
+     */
+    private int skipLineEnd(int c) throws IOException {
+        line++;
+        int next = read();
+        if (c == '\r' && next == '\n') {
+            next = read();
+        }
+        return next;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack >= EOF) {
+            int c = pushedBack;
+            pushedBack = EOF - 1;
+            return c;
+        }
+        return reader.read();
+    }
+}
@@ -0,0 +1,68 @@
+package com.cengiz.crm.util;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal RFC 4180 CSV writer over an output stream
+ * Writes UTF-8 with a byte order mark so spreadsheet applications detect Turkish characters.
+ * Text cells starting with a formula character are prefixed with an apostrophe (CSV injection guard).
+ * Numbers, enums and dates are written as they are, and so is text that is only a number or a phone
+ * number such as "-12.50" or "+90 532 123 45 67".
+ */
+public class CsvWriter implements Flushable {
+
+    private static final char SEPARATOR = ',';
+    private static final String LINE_END = "\r\n";
+    private static final String FORMULA_START = "=+-@\t\r";
+    private static final Pattern NUMERIC_OR_PHONE = Pattern.compile("[+-]?[0-9][0-9 ().-]*");
+
+    private final Writer writer;
+
+    public CsvWriter(OutputStream outputStream) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        this.writer.write('\uFEFF');
+    }
+
+    /**
+     * Write one row; null cells are written empty, other values with toString().
+     * Only String cells go through the formula guard.
+     */
+    public void writeRow(Object... cells) throws IOException {
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0) {
+                writer.write(SEPARATOR);
+            }
+            if (cells[i] != null) {
+                String value = cells[i].toString();
+                writer.write(escape(cells[i] instanceof String ? guardFormula(value) : value));
+            }
+        }
+        writer.write(LINE_END);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private static String guardFormula(String value) {
+        if (value.isEmpty() || FORMULA_START.indexOf(value.charAt(0)) < 0
+                || NUMERIC_OR_PHONE.matcher(value).matches()) {
+            return value;
+        }
+        return "'" + value;
+    }
+
+    private static String escape(String value) {
+        boolean quote = value.indexOf(SEPARATOR) >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
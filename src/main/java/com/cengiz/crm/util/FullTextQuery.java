@@ -0,0 +1,38 @@
+package com.cengiz.crm.util;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Builds PostgreSQL tsquery strings from user input
+ * Input is split on everything that is not a letter or digit, so the result never contains tsquery
+ * operators typed by the user; each word becomes a prefix match ("acm" finds "Acme").
+ */
+public final class FullTextQuery {
+
+    /**
+     * Longer inputs are truncated to this many words
+     */
+    public static final int MAX_TERMS = 8;
+
+    private FullTextQuery() {
+    }
+
+    /**
+     * Prefix tsquery matching rows that contain every word of the input, e.g. {@code "acm ist"} becomes
+     * {@code "acm:* & ist:*"}. Pass the result to {@code to_tsquery('simple', ...)}, which also lowercases it.
+     *
+     * @return the query, or null if the input has no searchable words
+     */
+    public static String prefixQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+        String query = Arrays.stream(text.split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .limit(MAX_TERMS)
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+        return query.isEmpty() ? null : query;
+    }
+}
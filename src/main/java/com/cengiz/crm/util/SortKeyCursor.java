@@ -0,0 +1,49 @@
+package com.cengiz.crm.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset pagination cursor for lists with a selectable sort column
+ * Encodes the sort column value (as text) and id of the last row of a page. Unlike {@link KeysetCursor}
+ * the sort value may be of any type; the query that consumes the cursor parses it back.
+ */
+@Getter
+@AllArgsConstructor
+public class SortKeyCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final String sortKey;
+
+    private final Long id;
+
+    public String encode() {
+        String raw = sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor received from the client
+     *
+     * @return the cursor, or null if the value is empty or malformed
+     */
+    public static SortKeyCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                return null;
+            }
+            return new SortKeyCursor(raw.substring(0, separator), Long.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
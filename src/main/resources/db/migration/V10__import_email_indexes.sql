@@ -0,0 +1,7 @@
+-- Bulk Import E-mail Indexes
+-- Version: 10.0
+-- Description: Case-insensitive e-mail lookups over live rows; the bulk import checks every chunk
+-- of incoming addresses against the existing leads and customers with LOWER(email) IN (...)
+
+CREATE INDEX idx_lead_email_lower ON leads(LOWER(email)) WHERE is_deleted = false;
+CREATE INDEX idx_customer_email_lower ON customers(LOWER(email)) WHERE is_deleted = false;
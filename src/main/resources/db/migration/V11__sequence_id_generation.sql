@@ -0,0 +1,15 @@
+-- Sequence Id Generation
+-- Version: 11.0
+-- Description: Entities take their ids from the BIGSERIAL sequences with Hibernate's pooled-lo
+-- optimizer instead of IDENTITY, which lets Hibernate batch INSERTs. One nextval now reserves a block
+-- of 50 ids; the increment must match crm.id.increment_size (TableSequenceGenerator).
+
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE permissions_id_seq INCREMENT BY 50;
+ALTER SEQUENCE customers_id_seq INCREMENT BY 50;
+ALTER SEQUENCE contacts_id_seq INCREMENT BY 50;
+ALTER SEQUENCE leads_id_seq INCREMENT BY 50;
+ALTER SEQUENCE products_id_seq INCREMENT BY 50;
+ALTER SEQUENCE opportunities_id_seq INCREMENT BY 50;
+ALTER SEQUENCE opportunity_products_id_seq INCREMENT BY 50;
+ALTER SEQUENCE activities_id_seq INCREMENT BY 50;
@@ -0,0 +1,76 @@
+-- Live Row Partial Indexes
+-- Version: 12.0
+-- Description: Deletes are soft (is_deleted = true) and every lookup filters on live rows, so the hot lookup
+-- indexes only cover live rows. Deleted rows pile up in the tables without growing these indexes.
+-- Queries must keep "is_deleted = false" in their WHERE clause for the planner to use them.
+
+-- Users: e-mail is unique among live users only, so a deleted user's address can be registered again
+ALTER TABLE users DROP CONSTRAINT IF EXISTS users_email_key;
+DROP INDEX IF EXISTS idx_user_email;
+DROP INDEX IF EXISTS idx_user_status;
+CREATE UNIQUE INDEX idx_user_email ON users(email) WHERE is_deleted = false;
+CREATE INDEX idx_user_status ON users(status) WHERE is_deleted = false;
+
+-- Customers (idx_customer_live_name already serves company name lookups)
+DROP INDEX IF EXISTS idx_customer_email;
+DROP INDEX IF EXISTS idx_customer_company;
+DROP INDEX IF EXISTS idx_customer_status;
+DROP INDEX IF EXISTS idx_customer_type;
+DROP INDEX IF EXISTS idx_customer_account_manager;
+CREATE INDEX idx_customer_email ON customers(email) WHERE is_deleted = false;
+CREATE INDEX idx_customer_status ON customers(status) WHERE is_deleted = false;
+CREATE INDEX idx_customer_type ON customers(customer_type) WHERE is_deleted = false;
+CREATE INDEX idx_customer_account_manager ON customers(account_manager_id) WHERE is_deleted = false;
+
+-- Contacts
+DROP INDEX IF EXISTS idx_contact_email;
+DROP INDEX IF EXISTS idx_contact_customer;
+CREATE INDEX idx_contact_email ON contacts(email) WHERE is_deleted = false;
+CREATE INDEX idx_contact_customer ON contacts(customer_id) WHERE is_deleted = false;
+
+-- Leads
+DROP INDEX IF EXISTS idx_lead_email;
+DROP INDEX IF EXISTS idx_lead_status;
+DROP INDEX IF EXISTS idx_lead_source;
+DROP INDEX IF EXISTS idx_lead_assigned;
+CREATE INDEX idx_lead_email ON leads(email) WHERE is_deleted = false;
+CREATE INDEX idx_lead_status ON leads(status) WHERE is_deleted = false;
+CREATE INDEX idx_lead_source ON leads(source) WHERE is_deleted = false;
+CREATE INDEX idx_lead_assigned ON leads(assigned_to_id) WHERE is_deleted = false;
+
+-- Products: product code is unique among live products only, so a deleted product's code can be reused
+ALTER TABLE products DROP CONSTRAINT IF EXISTS products_product_code_key;
+DROP INDEX IF EXISTS idx_product_code;
+DROP INDEX IF EXISTS idx_product_active;
+CREATE UNIQUE INDEX idx_product_code ON products(product_code) WHERE is_deleted = false;
+CREATE INDEX idx_product_active ON products(is_active) WHERE is_deleted = false;
+
+-- Opportunities
+DROP INDEX IF EXISTS idx_opportunity_customer;
+DROP INDEX IF EXISTS idx_opportunity_stage;
+DROP INDEX IF EXISTS idx_opportunity_status;
+DROP INDEX IF EXISTS idx_opportunity_owner;
+CREATE INDEX idx_opportunity_customer ON opportunities(customer_id) WHERE is_deleted = false;
+CREATE INDEX idx_opportunity_stage ON opportunities(stage) WHERE is_deleted = false;
+CREATE INDEX idx_opportunity_status ON opportunities(status) WHERE is_deleted = false;
+CREATE INDEX idx_opportunity_owner ON opportunities(owner_id) WHERE is_deleted = false;
+
+-- Opportunity line items
+DROP INDEX IF EXISTS idx_opp_product_opportunity;
+DROP INDEX IF EXISTS idx_opp_product_product;
+CREATE INDEX idx_opp_product_opportunity ON opportunity_products(opportunity_id) WHERE is_deleted = false;
+CREATE INDEX idx_opp_product_product ON opportunity_products(product_id) WHERE is_deleted = false;
+
+-- Activities: the feed indexes lead with is_deleted only to skip deleted rows, a partial index does that for free
+DROP INDEX IF EXISTS idx_activity_type;
+DROP INDEX IF EXISTS idx_activity_status;
+DROP INDEX IF EXISTS idx_activity_assigned;
+DROP INDEX IF EXISTS idx_activity_due_date;
+DROP INDEX IF EXISTS idx_activity_deleted_created;
+DROP INDEX IF EXISTS idx_activity_deleted_due;
+CREATE INDEX idx_activity_type ON activities(activity_type) WHERE is_deleted = false;
+CREATE INDEX idx_activity_status ON activities(status) WHERE is_deleted = false;
+CREATE INDEX idx_activity_assigned ON activities(assigned_to_id) WHERE is_deleted = false;
+CREATE INDEX idx_activity_due_date ON activities(due_date) WHERE is_deleted = false;
+CREATE INDEX idx_activity_live_created ON activities(created_at DESC, id DESC) WHERE is_deleted = false;
+CREATE INDEX idx_activity_live_due ON activities(due_date, id) WHERE is_deleted = false;
@@ -0,0 +1,7 @@
+-- Overdue Activity Index
+-- Version: 2.0
+-- Description: Partial index serving overdue activity counts, pages and per-assignee breakdowns
+
+-- Only open, live activities can ever be overdue, so completed/cancelled/deleted rows stay out of the index
+CREATE INDEX idx_activity_overdue ON activities(due_date, assigned_to_id)
+    WHERE is_deleted = false AND status NOT IN ('COMPLETED', 'CANCELLED');
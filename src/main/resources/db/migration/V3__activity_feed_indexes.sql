@@ -0,0 +1,6 @@
+-- Activity Feed Indexes
+-- Version: 3.0
+-- Description: Composite indexes serving ORDER BY ... LIMIT for the recent and upcoming activity feeds
+
+CREATE INDEX idx_activity_deleted_created ON activities(is_deleted, created_at DESC, id DESC);
+CREATE INDEX idx_activity_deleted_due ON activities(is_deleted, due_date, id);
@@ -0,0 +1,12 @@
+-- Per-User Dashboard Rollups
+-- Version: 4.0
+-- Description: One row per user holding the status/stage counts and values of the records the user owns
+
+CREATE TABLE user_dashboard_rollups (
+    user_id BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    counters TEXT NOT NULL DEFAULT '{}',
+    refreshed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Ownership columns used when a user's rollup is recomputed
+CREATE INDEX idx_customer_account_manager ON customers(account_manager_id);
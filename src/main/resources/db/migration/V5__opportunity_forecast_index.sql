@@ -0,0 +1,8 @@
+-- Opportunity Forecast Index
+-- Version: 5.0
+-- Description: Covering partial index over open opportunities so the revenue forecast
+-- is answered by an index-only range scan on expected_close_date
+
+CREATE INDEX idx_opportunity_forecast ON opportunities(expected_close_date)
+    INCLUDE (owner_id, stage, value, probability)
+    WHERE is_deleted = false AND status = 'OPEN';
@@ -0,0 +1,7 @@
+-- Customer List Indexes
+-- Version: 6.0
+-- Description: Partial (sort column, id) indexes over live customers so every page of the
+-- customer list, however deep, is a keyset seek plus a short ordered index scan
+
+CREATE INDEX idx_customer_live_name ON customers(company_name, id) WHERE is_deleted = false;
+CREATE INDEX idx_customer_live_created ON customers(created_at DESC, id DESC) WHERE is_deleted = false;
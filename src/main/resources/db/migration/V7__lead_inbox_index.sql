@@ -0,0 +1,6 @@
+-- Lead Inbox Index
+-- Version: 7.0
+-- Description: Partial (created_at DESC, id DESC) index over live leads; the unfiltered inbox
+-- reads every page as a keyset seek, filtered pages combine it with the status/source/assignee indexes
+
+CREATE INDEX idx_lead_live_created ON leads(created_at DESC, id DESC) WHERE is_deleted = false;
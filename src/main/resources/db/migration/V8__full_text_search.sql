@@ -0,0 +1,43 @@
+-- Full-Text Search
+-- Version: 8.0
+-- Description: Generated tsvector columns and partial GIN indexes replacing LOWER(col) LIKE '%term%' searches.
+-- The 'simple' configuration lowercases without stemming, which suits names, codes and mixed Turkish/English text.
+-- E-mail addresses are indexed both whole and split on punctuation, so "acme" finds "info@acme.com".
+-- Weights: A = name, B = e-mail / company, C = secondary fields
+
+ALTER TABLE customers ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple'::regconfig, coalesce(company_name, '')), 'A') ||
+    setweight(to_tsvector('simple'::regconfig, coalesce(email, '') || ' ' || translate(coalesce(email, ''), '@.-_+', '     ')), 'B') ||
+    setweight(to_tsvector('simple'::regconfig, coalesce(city, '')), 'C')
+) STORED;
+CREATE INDEX idx_customer_search ON customers USING GIN (search_vector) WHERE is_deleted = false;
+
+ALTER TABLE leads ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple'::regconfig, coalesce(first_name, '') || ' ' || coalesce(last_name, '')), 'A') ||
+    setweight(to_tsvector('simple'::regconfig, coalesce(company_name, '')), 'B') ||
+    setweight(to_tsvector('simple'::regconfig, coalesce(email, '') || ' ' || translate(coalesce(email, ''), '@.-_+', '     ')), 'B')
+) STORED;
+CREATE INDEX idx_lead_search ON leads USING GIN (search_vector) WHERE is_deleted = false;
+
+ALTER TABLE contacts ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple'::regconfig, coalesce(first_name, '') || ' ' || coalesce(last_name, '')), 'A') ||
+    setweight(to_tsvector('simple'::regconfig, coalesce(email, '') || ' ' || translate(coalesce(email, ''), '@.-_+', '     ')), 'B')
+) STORED;
+CREATE INDEX idx_contact_search ON contacts USING GIN (search_vector) WHERE is_deleted = false;
+
+ALTER TABLE users ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple'::regconfig, coalesce(first_name, '') || ' ' || coalesce(last_name, '')), 'A') ||
+    setweight(to_tsvector('simple'::regconfig, coalesce(email, '') || ' ' || translate(coalesce(email, ''), '@.-_+', '     ')), 'B')
+) STORED;
+CREATE INDEX idx_user_search ON users USING GIN (search_vector) WHERE is_deleted = false;
+
+ALTER TABLE products ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple'::regconfig, coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('simple'::regconfig, coalesce(product_code, '') || ' ' || translate(coalesce(product_code, ''), '.-_/', '    ')), 'A')
+) STORED;
+CREATE INDEX idx_product_search ON products USING GIN (search_vector) WHERE is_deleted = false;
+
+ALTER TABLE opportunities ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple'::regconfig, coalesce(name, '')), 'A')
+) STORED;
+CREATE INDEX idx_opportunity_search ON opportunities USING GIN (search_vector) WHERE is_deleted = false;
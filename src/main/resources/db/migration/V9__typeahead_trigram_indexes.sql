@@ -0,0 +1,14 @@
+-- Typeahead Trigram Indexes
+-- Version: 9.0
+-- Description: pg_trgm GIN indexes so the typeahead's ILIKE '%term%' lookups are index scans.
+-- Partial over live rows, matching the typeahead queries' is_deleted = false predicate.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_customer_company_trgm ON customers USING GIN (company_name gin_trgm_ops) WHERE is_deleted = false;
+
+CREATE INDEX idx_contact_name_trgm ON contacts USING GIN ((first_name || ' ' || last_name) gin_trgm_ops) WHERE is_deleted = false;
+CREATE INDEX idx_contact_email_trgm ON contacts USING GIN (email gin_trgm_ops) WHERE is_deleted = false;
+
+CREATE INDEX idx_product_name_trgm ON products USING GIN (name gin_trgm_ops) WHERE is_deleted = false;
+CREATE INDEX idx_product_code_trgm ON products USING GIN (product_code gin_trgm_ops) WHERE is_deleted = false;
@@ -0,0 +1,77 @@
+package com.cengiz.crm.repository;
+
+import com.cengiz.crm.repository.projection.ActivityFeedItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Overdue activities are paged by (due date, id) keyset and skip closed, deleted and not yet due rows
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ActivityRepositoryTest {
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("DELETE FROM activities");
+        jdbc.update("DELETE FROM leads");
+        jdbc.update("DELETE FROM user_permissions");
+        jdbc.update("DELETE FROM users");
+        jdbc.update("INSERT INTO users (id, first_name, last_name, email, password, role, status, "
+                + "failed_login_attempts, must_change_password, created_at, is_deleted, version) "
+                + "VALUES (1, 'Ayşe', 'Yılmaz', 'ayse@crm.test', 'x', 'SALES_REP', 'ACTIVE', 0, false, "
+                + "CURRENT_TIMESTAMP, false, 0)");
+        // Ids 1-10 overdue with pairwise equal due dates, so pages must break ties on id
+        for (int i = 1; i <= 10; i++) {
+            insert(i, "PLANNED", -1 - (i - 1) / 2, false);
+        }
+        insert(11, "COMPLETED", -3, false);
+        insert(12, "PLANNED", -3, true);
+        insert(13, "PLANNED", 2, false);
+    }
+
+    @Test
+    void overdueFeedPagesByDueDateThenId() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ActivityFeedItem> all = new ArrayList<>();
+        List<ActivityFeedItem> page = activityRepository.findOverdueFeed(now, PageRequest.of(0, 3));
+        while (!page.isEmpty()) {
+            all.addAll(page);
+            ActivityFeedItem last = page.get(page.size() - 1);
+            page = activityRepository.findOverdueFeedAfter(now, last.getDueDate(), last.getId(), PageRequest.of(0, 3));
+        }
+
+        assertThat(all.stream().map(ActivityFeedItem::getId).collect(Collectors.toList()))
+                .containsExactly(9L, 10L, 7L, 8L, 5L, 6L, 3L, 4L, 1L, 2L);
+    }
+
+    private void insert(long id, String status, int dueInDays, boolean deleted) {
+        jdbc.update("INSERT INTO activities (id, subject, activity_type, status, priority, due_date, "
+                + "assigned_to_id, created_at, is_deleted, is_reminder_sent, version) VALUES (?, 'Call', 'CALL', ?, "
+                + "'MEDIUM', DATEADD('DAY', ?, CAST(CURRENT_DATE AS TIMESTAMP)), 1, CURRENT_TIMESTAMP, ?, false, 0)",
+                id, status, dueInDays, deleted);
+    }
+}
@@ -0,0 +1,110 @@
+package com.cengiz.crm.security;
+
+import com.cengiz.crm.entity.User;
+import com.cengiz.crm.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A login must read the user and its permissions in one query, and listing users must load their
+ * permissions in batches of {@value #PERMISSION_BATCH_SIZE} rather than one query per user
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({CustomUserDetailsService.class, PrincipalCache.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CustomUserDetailsServiceTest {
+
+    /**
+     * Keep in sync with the @BatchSize of User.permissions
+     */
+    private static final int PERMISSION_BATCH_SIZE = 50;
+
+    private static final int USERS = 120;
+    private static final int PERMISSIONS = 3;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("DELETE FROM user_permissions");
+        jdbc.update("DELETE FROM permissions");
+        jdbc.update("DELETE FROM users");
+        for (int p = 1; p <= PERMISSIONS; p++) {
+            jdbc.update("INSERT INTO permissions (id, name, code, created_at, is_deleted, version) "
+                    + "VALUES (?, ?, ?, CURRENT_TIMESTAMP, false, 0)", p, "Permission " + p, "PERM_" + p);
+        }
+        for (int u = 1; u <= USERS; u++) {
+            jdbc.update("INSERT INTO users (id, first_name, last_name, email, password, role, status, "
+                    + "failed_login_attempts, must_change_password, created_at, is_deleted, version) "
+                    + "VALUES (?, 'Ayşe', 'Yılmaz', ?, 'x', 'SALES_REP', 'ACTIVE', 0, false, "
+                    + "CURRENT_TIMESTAMP, false, 0)", u, "user" + u + "@crm.test");
+            for (int p = 1; p <= PERMISSIONS; p++) {
+                jdbc.update("INSERT INTO user_permissions (user_id, permission_id) VALUES (?, ?)", u, p);
+            }
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void loginReadsUserAndPermissionsInOneStatementAndThenHitsTheCache() {
+        UserDetails user = userDetailsService.loadUserByUsername("user1@crm.test");
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(user.getAuthorities()).hasSize(PERMISSIONS + 1);
+
+        statistics.clear();
+        userDetailsService.loadUserByUsername("user1@crm.test");
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void userListBatchFetchesPermissions() {
+        Integer permissions = new TransactionTemplate(transactionManager).execute(status -> {
+            List<User> users = userRepository.findByIsDeletedFalse();
+            return users.stream().mapToInt(user -> user.getPermissions().size()).sum();
+        });
+
+        assertThat(permissions).isEqualTo(USERS * PERMISSIONS);
+        assertThat(statistics.getPrepareStatementCount())
+                .isEqualTo(1 + (USERS + PERMISSION_BATCH_SIZE - 1) / PERMISSION_BATCH_SIZE);
+    }
+}
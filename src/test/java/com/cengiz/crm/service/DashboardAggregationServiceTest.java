@@ -0,0 +1,85 @@
+package com.cengiz.crm.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The dashboard stats must cost one grouped query per table plus the live overdue count,
+ * however many rows and statuses there are
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(DashboardAggregationService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DashboardAggregationServiceTest {
+
+    /**
+     * Customers, leads, opportunities, activities and users grouped by status, plus overdue activities
+     */
+    private static final long DASHBOARD_STATEMENTS = 6;
+
+    @Autowired
+    private DashboardAggregationService dashboardAggregationService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("DELETE FROM activities");
+        jdbc.update("DELETE FROM leads");
+        jdbc.update("DELETE FROM user_permissions");
+        jdbc.update("DELETE FROM users");
+        jdbc.update("INSERT INTO users (id, first_name, last_name, email, password, role, status, "
+                + "failed_login_attempts, must_change_password, created_at, is_deleted, version) "
+                + "VALUES (1, 'Ayşe', 'Yılmaz', 'ayse@crm.test', 'x', 'SALES_REP', 'ACTIVE', 0, false, "
+                + "CURRENT_TIMESTAMP, false, 0)");
+        for (int i = 0; i < 30; i++) {
+            jdbc.update("INSERT INTO leads (id, first_name, last_name, status, assigned_to_id, is_converted, "
+                    + "created_at, is_deleted, version) VALUES (?, 'Lead', ?, ?, 1, ?, CURRENT_TIMESTAMP, false, 0)",
+                    i + 1, String.valueOf(i), i % 2 == 0 ? "NEW" : "QUALIFIED", i % 3 == 0);
+            jdbc.update("INSERT INTO activities (id, subject, activity_type, status, priority, due_date, "
+                    + "assigned_to_id, created_at, is_deleted, is_reminder_sent, version) "
+                    + "VALUES (?, 'Call', 'CALL', 'PLANNED', 'MEDIUM', DATEADD('DAY', ?, CURRENT_TIMESTAMP), 1, "
+                    + "CURRENT_TIMESTAMP, false, false, 0)", i + 1, i < 15 ? -1 - i : 1 + i);
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void dashboardStatsRunOneStatementPerTablePlusOverdue() {
+        Map<String, Object> stats = dashboardAggregationService.aggregate();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(DASHBOARD_STATEMENTS);
+        assertThat(stats)
+                .containsEntry("totalLeads", 30L)
+                .containsEntry("newLeads", 15L)
+                .containsEntry("convertedLeads", 10L)
+                .containsEntry("totalActivities", 30L)
+                .containsEntry("overdueActivities", 15L)
+                .containsEntry("activeUsers", 1L);
+    }
+}
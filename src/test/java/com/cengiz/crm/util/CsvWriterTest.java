@@ -0,0 +1,42 @@
+package com.cengiz.crm.util;
+
+import com.cengiz.crm.enums.UserRole;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvWriterTest {
+
+    @Test
+    void guardsFormulaTextOnly() throws IOException {
+        assertThat(row("=SUM(A1:A2)", "@cmd", "-2+3", "+cmd|' /C calc'!A0"))
+                .isEqualTo("'=SUM(A1:A2),'@cmd,'-2+3,'+cmd|' /C calc'!A0\r\n");
+    }
+
+    @Test
+    void leavesNumbersPhonesEnumsAndDatesAlone() throws IOException {
+        assertThat(row(new BigDecimal("-1250.50"), -3, "+90 532 123 45 67", "-12.5", UserRole.ADMIN,
+                LocalDate.of(2026, 1, 31)))
+                .isEqualTo("-1250.50,-3,+90 532 123 45 67,-12.5,ADMIN,2026-01-31\r\n");
+    }
+
+    @Test
+    void quotesSeparatorsAndQuotes() throws IOException {
+        assertThat(row("Acme, Inc.", "say \"hi\"", null))
+                .isEqualTo("\"Acme, Inc.\",\"say \"\"hi\"\"\",\r\n");
+    }
+
+    private static String row(Object... cells) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvWriter csv = new CsvWriter(out);
+        csv.writeRow(cells);
+        csv.flush();
+        return new String(out.toByteArray(), StandardCharsets.UTF_8).substring(1);
+    }
+}